@@ -0,0 +1,98 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * DataLoader-style batching: keys loaded within {@code window} of the first one (or until {@code maxBatchSize} distinct
+ * keys are waiting) are fetched with one call to the batch function, and each caller gets its own key's value back.
+ * Duplicate keys in a batch share one slot. A key missing from the batch result completes empty; a failed batch fails
+ * every caller in it.
+ *
+ * <p>Each subscription to {@link #load} joins a batch, so a caller's retry waits for the next one. The batch call runs
+ * outside any caller's subscription, so it does not see their Reactor context.
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+
+    private final String name;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Function<List<K>, Mono<Map<K, V>>> batchFunction;
+    private final Scheduler scheduler;
+    private Map<K, Sinks.One<V>> pending;
+
+    public BatchLoader(
+            String name,
+            Duration window,
+            int maxBatchSize,
+            Function<List<K>, Mono<Map<K, V>>> batchFunction,
+            Scheduler scheduler) {
+        this.name = name;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchFunction = batchFunction;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> enqueue(key).asMono());
+    }
+
+    private Sinks.One<V> enqueue(K key) {
+        Map<K, Sinks.One<V>> full = null;
+        Sinks.One<V> sink;
+        synchronized (this) {
+            if (pending == null) {
+                Map<K, Sinks.One<V>> batch = new LinkedHashMap<>();
+                pending = batch;
+                scheduler.schedule(() -> dispatchIfPending(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            sink = pending.computeIfAbsent(key, k -> Sinks.one());
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return sink;
+    }
+
+    private void dispatchIfPending(Map<K, Sinks.One<V>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return; // already dispatched when it filled up
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        List<K> keys = new ArrayList<>(batch.keySet());
+        log.debug("{} batch of {} keys", name, keys.size());
+        Mono.defer(() -> batchFunction.apply(keys))
+                .subscribe(
+                        values -> batch.forEach((key, sink) -> {
+                            V value = values.get(key);
+                            if (value == null) {
+                                sink.tryEmitEmpty();
+                            } else {
+                                sink.tryEmitValue(value);
+                            }
+                        }),
+                        error -> batch.values().forEach(sink -> sink.tryEmitError(error)),
+                        () -> batch.values().forEach(Sinks.One::tryEmitEmpty));
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable consistent-hash ring with {@code virtualNodes} points per node, kept as a sorted {@code long[]} so a
+ * lookup is one binary search. Adding or removing a node only moves the keys that hashed next to its points.
+ */
+public class ConsistentHashRing<T> {
+
+    private final List<T> nodes;
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(List<T> nodes, Function<T, String> nodeKey, int virtualNodes) {
+        this.nodes = List.copyOf(nodes);
+        int total = this.nodes.size() * virtualNodes;
+        long[][] entries = new long[total][];
+        for (int n = 0; n < this.nodes.size(); n++) {
+            String key = nodeKey.apply(this.nodes.get(n));
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[n * virtualNodes + v] = new long[] {hash(key + '#' + v), n};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[total];
+        owners = new int[total];
+        for (int i = 0; i < total; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+    }
+
+    /** Every node once, starting with the owner of {@code key} and continuing clockwise, for failover. */
+    public List<T> route(String key) {
+        List<T> order = new ArrayList<>(nodes.size());
+        if (points.length == 0) {
+            return order;
+        }
+        int start = Arrays.binarySearch(points, hash(key));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        boolean[] taken = new boolean[nodes.size()];
+        for (int i = 0; i < points.length && order.size() < nodes.size(); i++) {
+            int owner = owners[(start + i) % points.length];
+            if (!taken[owner]) {
+                taken[owner] = true;
+                order.add(nodes.get(owner));
+            }
+        }
+        return order;
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 chars, finished with the murmur3 mix so nearby keys spread over the ring. */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
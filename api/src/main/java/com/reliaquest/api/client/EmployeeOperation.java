@@ -0,0 +1,29 @@
+package com.reliaquest.api.client;
+
+/**
+ * Traffic classes isolated from each other by {@link OperationPartitions}. Each maps to a resilience4j bulkhead and
+ * rate limiter instance of the same name in {@code application.yml}.
+ */
+public enum EmployeeOperation {
+    READ("employeeRead", true),
+    SEARCH("employeeSearch", true),
+    AGGREGATE("employeeAggregate", true),
+    WRITE("employeeWrite", false);
+
+    private final String instanceName;
+    private final boolean servableFromStale;
+
+    EmployeeOperation(String instanceName, boolean servableFromStale) {
+        this.instanceName = instanceName;
+        this.servableFromStale = servableFromStale;
+    }
+
+    public String getInstanceName() {
+        return instanceName;
+    }
+
+    /** Whether the last good roster is an acceptable answer when this operation is shed. */
+    public boolean isServableFromStale() {
+        return servableFromStale;
+    }
+}
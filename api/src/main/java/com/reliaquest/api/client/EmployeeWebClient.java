@@ -7,21 +7,42 @@ import com.reliaquest.api.exception.ResilienceOperator;
 import com.reliaquest.api.model.EmployeeDTO;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.EmployeeWrapper;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.reactor.retry.RetryOperator;
-import io.github.resilience4j.retry.Retry;
+import com.reliaquest.api.state.SharedStateStore;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.RequestBodySpec;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Component
@@ -29,13 +50,41 @@ import reactor.core.publisher.Mono;
 public class EmployeeWebClient {
 
     @Autowired
-    private final WebClient webClient;
+    private final UpstreamPool upstreamPool;
 
     @Autowired
-    private final Retry employeeRetry;
+    private final UpstreamRetry employeeRetry;
 
+    @Lazy
     @Autowired
-    private final RateLimiter employeeApiLimiter;
+    private final OperationPartitions operationPartitions;
+
+    @Autowired
+    private final RosterProjection rosterProjection;
+
+    @Lazy
+    @Autowired
+    private final RequestHedger requestHedger;
+
+    @Autowired
+    private final SharedStateStore sharedState;
+
+    @Value("${api.shared-state.roster-ttl:2s}")
+    private Duration rosterTtl;
+
+    @Value("${api.shared-state.stale-ttl:1h}")
+    private Duration staleTtl;
+
+    @Value("${webclient.employee.batch.enabled:true}")
+    private boolean batchLookups;
+
+    @Value("${webclient.employee.batch.window:5ms}")
+    private Duration batchWindow;
+
+    @Value("${webclient.employee.batch.max-size:100}")
+    private int batchMaxSize;
+
+    private BatchLoader<String, EmployeeDTO> employeeLookups;
 
     private final ParameterizedTypeReference<EmployeeWrapper<List<EmployeeDTO>>> LIST_WRAPPER =
             new ParameterizedTypeReference<>() {};
@@ -44,88 +93,484 @@ public class EmployeeWebClient {
     private final ParameterizedTypeReference<EmployeeWrapper<Boolean>> BOOL_WRAPPER =
             new ParameterizedTypeReference<>() {};
 
+    /*
+     * Roster entries in the shared state: FRESH (a RosterRead) answers every read for rosterTtl, across replicas, and
+     * is dropped on create/delete; LAST_GOOD, the last authoritative roster, answers reads shed by their partition
+     * instead of the fallback.
+     */
+    public static final String ROSTER = "roster";
+    private static final String FRESH = "fresh";
+    private static final String LAST_GOOD = "last-good";
+    private static final List<EmployeeDTO> FALLBACK_ROSTER =
+            List.of(new EmployeeDTO("0", "Fallback Employee", 0, 0, "N/A", "fallback@example.com"));
+
+    @PostConstruct
+    void startBatching() {
+        employeeLookups = new BatchLoader<>(
+                "lookupEmployees", batchWindow, batchMaxSize, this::lookupEmployees, Schedulers.parallel());
+    }
+
     public Mono<List<EmployeeDTO>> getAllEmployees() {
+        return getAllEmployees(EmployeeOperation.READ);
+    }
+
+    public Mono<List<EmployeeDTO>> getAllEmployees(EmployeeOperation operation) {
+        return readRoster(operation).map(RosterRead::employees);
+    }
+
+    /** Like {@link #getAllEmployees(EmployeeOperation)}, telling whether the answer is authoritative. */
+    public Mono<RosterRead> readRoster(EmployeeOperation operation) {
         log.info("inside getAllEmployees of EmployeeWebClient");
-        return webClient
+        return Mono.defer(() -> Mono.justOrEmpty(sharedState.<RosterRead>get(ROSTER, FRESH)))
+                .switchIfEmpty(fetchRoster(operation));
+    }
+
+    /*
+     * A partial roster is cached as fresh, so a shard outage does not turn every read into an upstream call, but it
+     * never becomes the last good roster.
+     */
+    private Mono<RosterRead> fetchRoster(EmployeeOperation operation) {
+        return scatter(operation, "getAllEmployees", upstream -> requestHedger
+                        .hedge("getAllEmployees", operation, () -> retrieveRoster(upstream)
+                                .bodyToMono(LIST_WRAPPER))
+                        .map(EmployeeWrapper::getData))
+                .map(shards -> new RosterRead(
+                        shards.results().size() == 1
+                                ? shards.results().get(0)
+                                : shards.results().stream()
+                                        .flatMap(List::stream)
+                                        .toList(),
+                        shards.complete()))
+                .doOnNext(read -> log.info("✅ Deserialized Employees: {}", read.employees()))
+                .doOnNext(this::cacheRoster)
+                .transformDeferred(ResilienceOperator.withResilience(
+                        operationPartitions,
+                        operation,
+                        employeeRetry,
+                        stale(operation, roster -> new RosterRead(roster, false)),
+                        new RosterRead(FALLBACK_ROSTER, false)));
+    }
+
+    /** Reads the roster from upstream even while a fresh copy is cached, and caches the result. */
+    public Mono<RosterRead> refreshRoster() {
+        return fetchRoster(EmployeeOperation.READ);
+    }
+
+    /** The last roster read from upstream, if one is still held. */
+    public Optional<List<EmployeeDTO>> lastGoodRoster() {
+        return sharedState.<ArrayList<EmployeeDTO>>get(ROSTER, LAST_GOOD).map(roster -> roster);
+    }
+
+    /*
+     * Seeds the roster entries from a checkpoint: fresh for freshFor, though not authoritative, then the last good
+     * roster as usual. Entries another replica already holds are newer and left alone.
+     */
+    public void warmStart(List<EmployeeDTO> roster, Duration freshFor) {
+        ArrayList<EmployeeDTO> copy = new ArrayList<>(roster);
+        sharedState.putIfAbsent(ROSTER, FRESH, new RosterRead(copy, false), freshFor);
+        sharedState.putIfAbsent(ROSTER, LAST_GOOD, copy, staleTtl);
+    }
+
+    /*
+     * Aggregate queries stream the roster through RosterProjection instead of binding every EmployeeDTO.
+     * Fallbacks mirror the fallback roster returned by getAllEmployees.
+     */
+    public Mono<OptionalInt> getHighestSalary() {
+        log.info("inside getHighestSalary of EmployeeWebClient");
+        return cached(EmployeeWebClient::maxSalary)
+                .switchIfEmpty(scatter(
+                                EmployeeOperation.AGGREGATE,
+                                "getHighestSalary",
+                                upstream -> projectRoster(upstream, rosterProjection::maxSalary))
+                        .map(shards -> shards.results().stream()
+                                .filter(OptionalInt::isPresent)
+                                .mapToInt(OptionalInt::getAsInt)
+                                .max())
+                        .doOnNext(max -> log.info("✅ Highest salary from streamed roster: {}", max))
+                        .transformDeferred(ResilienceOperator.withResilience(
+                                operationPartitions,
+                                EmployeeOperation.AGGREGATE,
+                                employeeRetry,
+                                stale(EmployeeOperation.AGGREGATE, EmployeeWebClient::maxSalary),
+                                OptionalInt.of(0))));
+    }
+
+    public Mono<List<String>> getTopEarnerNames(int limit) {
+        log.info("inside getTopEarnerNames of EmployeeWebClient");
+        return cached(roster -> topEarnerNames(roster, limit))
+                .switchIfEmpty(scatter(
+                                EmployeeOperation.AGGREGATE,
+                                "getTopEarnerNames",
+                                upstream -> projectRoster(upstream, in -> rosterProjection.topEarners(in, limit)))
+                        .map(shards -> shards.results().stream()
+                                .flatMap(List::stream)
+                                .sorted(Comparator.comparingInt(RosterProjection.Earner::salary)
+                                        .reversed())
+                                .limit(limit)
+                                .map(RosterProjection.Earner::name)
+                                .toList())
+                        .doOnNext(names -> log.info("✅ Top {} earners from streamed roster: {}", limit, names))
+                        .transformDeferred(ResilienceOperator.withResilience(
+                                operationPartitions,
+                                EmployeeOperation.AGGREGATE,
+                                employeeRetry,
+                                stale(EmployeeOperation.AGGREGATE, roster -> topEarnerNames(roster, limit)),
+                                List.of("Fallback Employee"))));
+    }
+
+    private static OptionalInt maxSalary(List<EmployeeDTO> roster) {
+        return roster.stream()
+                .map(EmployeeDTO::getSalary)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .max();
+    }
+
+    private static List<String> topEarnerNames(List<EmployeeDTO> roster, int limit) {
+        return roster.stream()
+                .filter(e -> e.getSalary() != null)
+                .sorted(Comparator.comparing(EmployeeDTO::getSalary).reversed())
+                .limit(limit)
+                .map(EmployeeDTO::getName)
+                .toList();
+    }
+
+    private void cacheRoster(RosterRead read) {
+        ArrayList<EmployeeDTO> copy = new ArrayList<>(read.employees());
+        sharedState.put(ROSTER, FRESH, new RosterRead(copy, read.authoritative()), rosterTtl);
+        if (read.authoritative()) {
+            sharedState.put(ROSTER, LAST_GOOD, copy, staleTtl);
+        }
+    }
+
+    private void invalidateRoster() {
+        sharedState.remove(ROSTER, FRESH);
+    }
+
+    /*
+     * Answer derived from the fresh shared roster, or empty when it has expired.
+     */
+    private <T> Mono<T> cached(Function<List<EmployeeDTO>, T> view) {
+        return Mono.defer(() -> Mono.justOrEmpty(sharedState.<RosterRead>get(ROSTER, FRESH)))
+                .map(RosterRead::employees)
+                .mapNotNull(view);
+    }
+
+    /*
+     * Answer derived from the last good roster, or empty (and so the fallback) when none has been read yet.
+     */
+    private <T> Mono<T> stale(EmployeeOperation operation, Function<List<EmployeeDTO>, T> view) {
+        if (!operation.isServableFromStale()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> Mono.justOrEmpty(sharedState.<ArrayList<EmployeeDTO>>get(ROSTER, LAST_GOOD)))
+                .mapNotNull(view)
+                .doOnNext(answer -> log.warn("⚠️ {} shed, serving from last good roster", operation));
+    }
+
+    /** Answers of a scatter in upstream order; incomplete when some upstream failed. */
+    private record Shards<T>(List<T> results, boolean complete) {}
+
+    /*
+     * Sends the call to every healthy upstream and keeps whatever answered, in upstream order. Only when every
+     * upstream failed does the first failure surface, so retry and fallback behave as with a single server. The
+     * first call goes on the caller's permit; each further one takes its own permit of permitsFor, and an upstream
+     * left without one counts as failed.
+     */
+    private <T> Mono<Shards<T>> scatter(
+            EmployeeOperation permitsFor, String operation, Function<Upstream, Mono<T>> call) {
+        return Mono.defer(() -> {
+            List<Upstream> targets = upstreamPool.healthy();
+            List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+            return Flux.fromIterable(targets)
+                    .index()
+                    .flatMapSequential(indexed -> {
+                        Upstream upstream = indexed.getT2();
+                        Mono<Boolean> permitted =
+                                indexed.getT1() > 0 ? operationPartitions.acquirePermit(permitsFor) : Mono.just(true);
+                        return permitted.flatMap(ok -> {
+                            if (!ok) {
+                                failures.add(RequestNotPermitted.createRequestNotPermitted(
+                                        operationPartitions.rateLimiter(permitsFor)));
+                                return Mono.empty();
+                            }
+                            return call.apply(upstream).onErrorResume(ex -> {
+                                upstreamPool.reportFailure(upstream, ex);
+                                failures.add(ex);
+                                return Mono.empty();
+                            });
+                        });
+                    })
+                    .collectList()
+                    .flatMap(results -> {
+                        if (failures.isEmpty()) {
+                            return Mono.just(new Shards<>(results, true));
+                        }
+                        if (results.isEmpty()) {
+                            return Mono.error(failures.get(0));
+                        }
+                        log.warn(
+                                "⚠️ {} answered by {} of {} upstreams, returning partial result",
+                                operation,
+                                results.size(),
+                                targets.size());
+                        return Mono.just(new Shards<>(results, false));
+                    });
+        });
+    }
+
+    /*
+     * Tries the upstreams in ring order for key, moving on when failOver accepts the error; the last upstream's
+     * error is returned as is.
+     */
+    private <T> Mono<T> inRingOrder(String key, Predicate<Throwable> failOver, Function<Upstream, Mono<T>> call) {
+        return Mono.defer(() -> tryInOrder(upstreamPool.route(key), 0, failOver, call));
+    }
+
+    private <T> Mono<T> tryInOrder(
+            List<Upstream> order, int index, Predicate<Throwable> failOver, Function<Upstream, Mono<T>> call) {
+        Upstream upstream = order.get(index);
+        Mono<T> attempt = call.apply(upstream).doOnError(ex -> upstreamPool.reportFailure(upstream, ex));
+        if (index + 1 == order.size()) {
+            return attempt;
+        }
+        return attempt.onErrorResume(failOver, ex -> tryInOrder(order, index + 1, failOver, call));
+    }
+
+    /*
+     * The body is joined as raw bytes, far smaller than the employees it would decode to, and parsed off the Netty
+     * event loop so a large roster does not hold up other connections' I/O.
+     */
+    private <T> Mono<T> projectRoster(Upstream upstream, RosterReader<T> reader) {
+        return DataBufferUtils.join(retrieveRoster(upstream).bodyToFlux(DataBuffer.class))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .map(buffer -> {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        return reader.read(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private WebClient.ResponseSpec retrieveRoster(Upstream upstream) {
+        return upstream.getWebClient()
                 .get()
                 .uri("/employee")
                 .retrieve()
-                .onStatus(status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(), resp -> resp.bodyToMono(
-                                String.class)
-                        .flatMap(msg -> Mono.error(new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, msg))))
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        EmployeeWebClient::rateLimited)
                 .onStatus(
                         status -> status.value() == HttpStatus.NOT_FOUND.value(), resp -> resp.bodyToMono(String.class)
                                 .flatMap(msg -> Mono.error(new EmployeeNotFoundException(HttpStatus.NOT_FOUND, msg))))
+                .onStatus(HttpStatusCode::is5xxServerError, ClientResponse::createException)
+                .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
+                        .flatMap(msg -> Mono.error(new RuntimeException(msg))));
+    }
+
+    /*
+     * The mock answers 429 with an empty body, which onStatus would otherwise treat as "no error".
+     */
+    private static Mono<RateLimitExceededException> rateLimited(ClientResponse resp) {
+        Duration retryAfter = UpstreamRetry.retryAfter(resp.headers().asHttpHeaders());
+        return resp.bodyToMono(String.class)
+                .defaultIfEmpty("Too many requests, retry after " + retryAfter)
+                .map(msg -> new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, msg, retryAfter));
+    }
+
+    @FunctionalInterface
+    private interface RosterReader<T> {
+        T read(InputStream in) throws IOException;
+    }
+
+    /*
+     * With batching on, concurrent lookups within webclient.employee.batch.window share one POST /employee/lookup per
+     * upstream (taking one READ permit per upstream). Otherwise reads go to the ring owner of the id first and fail
+     * over to the next upstream only when one is unavailable. The mock servers generate their own ids, so an employee
+     * may live on any of them: a 404 from the owner is followed by one lookup across the pool.
+     */
+    public Mono<EmployeeDTO> getEmployeeById(String id) {
+        Mono<EmployeeDTO> fetched = batchLookups
+                ? employeeLookups.load(canonicalId(id))
+                : inRingOrder(
+                                id,
+                                UpstreamPool::isUnavailable,
+                                upstream -> requestHedger.hedge(
+                                        "getEmployeeById", EmployeeOperation.READ, () -> fetchEmployee(upstream, id)))
+                        .onErrorResume(
+                                ex -> ex instanceof EmployeeNotFoundException && upstreamPool.size() > 1,
+                                notFound -> findAnywhere(id, notFound))
+                        .transformDeferred(ResilienceOperator.isolated(
+                                operationPartitions, EmployeeOperation.READ, employeeRetry));
+        return cached(roster -> findById(roster, id))
+                .switchIfEmpty(fetched.doOnNext(data -> log.info("✅ Deserialized Employee: {}", data))
+                        .transformDeferred(ResilienceOperator.withFallback(
+                                stale(EmployeeOperation.READ, roster -> findById(roster, id)),
+                                new EmployeeDTO("0", "Fallback Employee", 0, 0, "N/A", "fallback@example.com"))));
+    }
+
+    private Mono<EmployeeDTO> findAnywhere(String id, Throwable notFound) {
+        if (!isUuid(id)) {
+            return Mono.error(notFound);
+        }
+        return operationPartitions
+                .acquirePermit(EmployeeOperation.READ)
+                .filter(Boolean::booleanValue)
+                .flatMap(permitted ->
+                        scatter(EmployeeOperation.READ, "getEmployeeById", upstream -> lookupOn(upstream, List.of(id))))
+                .flatMap(shards -> Mono.justOrEmpty(
+                        shards.results().stream().flatMap(List::stream).findFirst()))
+                .switchIfEmpty(Mono.error(notFound));
+    }
+
+    /*
+     * One batch of ids, asked of every healthy upstream since any of them may hold an id. Ids the mock cannot parse
+     * are left out and so resolve to not found.
+     */
+    private Mono<Map<String, EmployeeDTO>> lookupEmployees(List<String> ids) {
+        List<String> lookup = ids.stream().filter(EmployeeWebClient::isUuid).toList();
+        if (lookup.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return scatter(
+                        EmployeeOperation.READ,
+                        "lookupEmployees",
+                        upstream -> requestHedger.hedge(
+                                "lookupEmployees", EmployeeOperation.READ, () -> lookupOn(upstream, lookup)))
+                .map(shards -> {
+                    Map<String, EmployeeDTO> found = new HashMap<>();
+                    shards.results().forEach(employees -> employees.forEach(e -> found.putIfAbsent(e.getId(), e)));
+                    return found;
+                })
+                .transformDeferred(
+                        ResilienceOperator.isolated(operationPartitions, EmployeeOperation.READ, employeeRetry));
+    }
+
+    private Mono<List<EmployeeDTO>> lookupOn(Upstream upstream, List<String> ids) {
+        return upstream.getWebClient()
+                .post()
+                .uri("/employee/lookup")
+                .bodyValue(Map.of("ids", ids))
+                .retrieve()
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        EmployeeWebClient::rateLimited)
                 .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
                         .flatMap(msg -> Mono.error(new RuntimeException(msg))))
                 .bodyToMono(LIST_WRAPPER)
-                .map(EmployeeWrapper::getData)
-                .doOnNext(data -> log.info("✅ Deserialized Employees: {}", data))
-                .transformDeferred(ResilienceOperator.withResilience(
-                        employeeApiLimiter,
-                        employeeRetry,
-                        List.of(new EmployeeDTO("0", "Fallback Employee", 0, 0, "N/A", "fallback@example.com"))));
+                .map(EmployeeWrapper::getData);
     }
 
-    public Mono<EmployeeDTO> getEmployeeById(String id) {
-        return webClient
+    /** The mock's spelling of a UUID id, so differently-cased requests share a batch slot; other ids as given. */
+    private static String canonicalId(String id) {
+        try {
+            return UUID.fromString(id).toString();
+        } catch (IllegalArgumentException e) {
+            return id;
+        }
+    }
+
+    private static boolean isUuid(String id) {
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static EmployeeDTO findById(List<EmployeeDTO> roster, String id) {
+        return roster.stream().filter(e -> id.equals(e.getId())).findFirst().orElse(null);
+    }
+
+    private Mono<EmployeeDTO> fetchEmployee(Upstream upstream, String id) {
+        return upstream.getWebClient()
                 .get()
                 .uri("/employee/{id}", id)
                 .retrieve()
-                .onStatus(status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(), resp -> resp.bodyToMono(
-                                String.class)
-                        .flatMap(msg -> Mono.error(new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, msg))))
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        EmployeeWebClient::rateLimited)
                 .onStatus(
                         status -> status.value() == HttpStatus.NOT_FOUND.value(), resp -> resp.bodyToMono(String.class)
                                 .defaultIfEmpty("Employees not found.")
                                 .flatMap(msg -> Mono.error(new EmployeeNotFoundException(HttpStatus.NOT_FOUND, msg))))
+                .onStatus(HttpStatusCode::is5xxServerError, ClientResponse::createException)
                 .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
                         .flatMap(msg -> Mono.error(new RuntimeException(msg))))
                 .bodyToMono(SINGLE_WRAPPER)
-                .map(EmployeeWrapper::getData)
-                .doOnNext(data -> log.info("✅ Deserialized Employee: {}", data))
-                .transformDeferred(ResilienceOperator.withResilience(
-                        employeeApiLimiter,
-                        employeeRetry,
-                        new EmployeeDTO("0", "Fallback Employee", 0, 0, "N/A", "fallback@example.com")));
+                .map(EmployeeWrapper::getData);
     }
 
+    /*
+     * Creates are placed by idempotency key (else name) and only fail over when the connection was refused, so a
+     * create that may have reached a server is never repeated on another one.
+     */
     public Mono<EmployeeDTO> createEmployee(EmployeeInput req, String idempotencyKey) {
         log.info("inside createEmployee method");
-        WebClient.RequestBodySpec spec = webClient.post().uri("/employee");
-        if (idempotencyKey != null) spec.header("Idempotency-Key", idempotencyKey);
         log.info(idempotencyKey);
-        return spec.bodyValue(req)
-                .retrieve()
-                .onStatus(status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(), resp -> resp.bodyToMono(
-                                String.class)
-                        .flatMap(msg -> Mono.error(new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, msg))))
-                .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
-                        .defaultIfEmpty("Employee not created, Some exception occurred")
-                        .flatMap(msg ->
-                                Mono.error(new EmployeeCreationException(HttpStatus.INTERNAL_SERVER_ERROR, msg))))
-                .bodyToMono(SINGLE_WRAPPER)
+        String placement = idempotencyKey != null ? idempotencyKey : req.getName();
+        return inRingOrder(placement, UpstreamPool::isConnectFailure, upstream -> {
+                    WebClient.RequestBodySpec spec =
+                            upstream.getWebClient().post().uri("/employee");
+                    if (idempotencyKey != null) spec.header("Idempotency-Key", idempotencyKey);
+                    return spec.bodyValue(req)
+                            .retrieve()
+                            .onStatus(
+                                    status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                                    EmployeeWebClient::rateLimited)
+                            .onStatus(HttpStatusCode::is5xxServerError, ClientResponse::createException)
+                            .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
+                                    .defaultIfEmpty("Employee not created, Some exception occurred")
+                                    .flatMap(msg -> Mono.error(
+                                            new EmployeeCreationException(HttpStatus.INTERNAL_SERVER_ERROR, msg))))
+                            .bodyToMono(SINGLE_WRAPPER);
+                })
                 .map(EmployeeWrapper::getData)
                 .doOnNext(data -> log.info("✅ Deserialized Employee: {}", data))
-                .transformDeferred(RetryOperator.of(employeeRetry));
+                .doOnNext(data -> invalidateRoster())
+                // the mock does not dedupe on Idempotency-Key, so a create that may have reached it is not sent again
+                .transformDeferred(ResilienceOperator.isolated(
+                        operationPartitions, EmployeeOperation.WRITE, employeeRetry.withoutReplays()));
     }
 
+    /*
+     * The mock deletes by name, so with several upstreams the employee is first looked up by id on each candidate;
+     * otherwise a same-named employee on another server could be deleted instead.
+     */
     public Mono<Boolean> deleteEmployeeByName(EmployeeDTO req) {
         Map<String, String> reqBody = Map.of("name", req.getName());
-        WebClient.RequestBodySpec spec = (RequestBodySpec) webClient.delete().uri("/employee");
+        return inRingOrder(
+                        req.getId(),
+                        ex -> ex instanceof EmployeeNotFoundException || UpstreamPool.isConnectFailure(ex),
+                        upstream -> (upstreamPool.size() == 1
+                                        ? Mono.empty()
+                                        : fetchEmployee(upstream, req.getId()).then())
+                                .then(deleteOn(upstream, reqBody)))
+                .map(EmployeeWrapper::getData)
+                .doOnNext(data -> log.info("✅ Deserialized Employee: {}", data))
+                .doOnNext(data -> invalidateRoster())
+                .transformDeferred(
+                        ResilienceOperator.isolated(operationPartitions, EmployeeOperation.WRITE, employeeRetry));
+    }
+
+    private Mono<EmployeeWrapper<Boolean>> deleteOn(Upstream upstream, Map<String, String> reqBody) {
+        WebClient.RequestBodySpec spec =
+                (RequestBodySpec) upstream.getWebClient().delete().uri("/employee");
         return spec.bodyValue(reqBody)
                 .retrieve()
-                .onStatus(status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(), resp -> resp.bodyToMono(
-                                String.class)
-                        .flatMap(msg -> Mono.error(new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, msg))))
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        EmployeeWebClient::rateLimited)
                 .onStatus(
                         status -> status.value() == HttpStatus.NOT_FOUND.value(), resp -> resp.bodyToMono(String.class)
+                                .defaultIfEmpty("Employee not found.")
                                 .flatMap(msg -> Mono.error(new EmployeeNotFoundException(HttpStatus.NOT_FOUND, msg))))
+                .onStatus(HttpStatusCode::is5xxServerError, ClientResponse::createException)
                 .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
                         .flatMap(msg -> Mono.error(new RuntimeException(msg))))
-                .bodyToMono(BOOL_WRAPPER)
-                .map(EmployeeWrapper::getData)
-                .doOnNext(data -> log.info("✅ Deserialized Employee: {}", data))
-                .transformDeferred(RetryOperator.of(employeeRetry));
+                .bodyToMono(BOOL_WRAPPER);
     }
 }
@@ -0,0 +1,42 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window of the most recent response times of one operation. The percentile is recomputed from a sorted copy
+ * every {@code window / 8} samples and cached, so reading it is a volatile load.
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double quantile;
+    private volatile long cachedNanos = -1;
+
+    public LatencyTracker(int window, double quantile) {
+        this.samples = new long[window];
+        this.quantile = quantile;
+    }
+
+    public void record(long nanos) {
+        long n = recorded.getAndIncrement();
+        samples[(int) (n % samples.length)] = nanos;
+        if ((n + 1) % Math.max(1, samples.length / 8) == 0) {
+            recompute(Math.min(n + 1, samples.length));
+        }
+    }
+
+    /** Current percentile, or {@code fallback} until a first batch of samples is in. */
+    public Duration percentile(Duration fallback) {
+        long nanos = cachedNanos;
+        return nanos < 0 ? fallback : Duration.ofNanos(nanos);
+    }
+
+    private void recompute(long count) {
+        long[] sorted = Arrays.copyOf(samples, (int) count);
+        Arrays.sort(sorted);
+        cachedNanos = sorted[(int) Math.min(count - 1, (long) Math.ceil(quantile * count) - 1)];
+    }
+}
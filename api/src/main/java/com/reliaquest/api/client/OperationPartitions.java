@@ -0,0 +1,79 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.state.UpstreamBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Mono;
+
+/**
+ * Splits the upstream budget by {@link EmployeeOperation}: each operation has its own concurrency bulkhead and its
+ * own share of the rate limit, so a burst of searches cannot use up the permits or threads that writes need.
+ *
+ * <p>Writes have priority: once their own share is used up they may borrow a permit from the aggregate, search and
+ * read shares (in that order), while reads never borrow. Every permit also counts against the {@link UpstreamBudget}
+ * shared by all replicas, which is checked first since only its permits can be given back. Every operation fails fast
+ * when its bulkhead is full: reads are then answered from stale data, writes fail to their fallback.
+ */
+public class OperationPartitions {
+
+    private static final List<EmployeeOperation> WRITE_BORROW_ORDER =
+            List.of(EmployeeOperation.AGGREGATE, EmployeeOperation.SEARCH, EmployeeOperation.READ);
+
+    private final Map<EmployeeOperation, Bulkhead> bulkheads = new EnumMap<>(EmployeeOperation.class);
+    private final Map<EmployeeOperation, RateLimiter> rateLimiters = new EnumMap<>(EmployeeOperation.class);
+
+    private final UpstreamBudget upstreamBudget;
+
+    public OperationPartitions(
+            BulkheadRegistry bulkheadRegistry, RateLimiterRegistry rateLimiterRegistry, UpstreamBudget upstreamBudget) {
+        this.upstreamBudget = upstreamBudget;
+        for (EmployeeOperation operation : EmployeeOperation.values()) {
+            bulkheads.put(operation, bulkheadRegistry.bulkhead(operation.getInstanceName()));
+            rateLimiters.put(operation, rateLimiterRegistry.rateLimiter(operation.getInstanceName()));
+        }
+    }
+
+    public Bulkhead bulkhead(EmployeeOperation operation) {
+        return bulkheads.get(operation);
+    }
+
+    public RateLimiter rateLimiter(EmployeeOperation operation) {
+        return rateLimiters.get(operation);
+    }
+
+    /**
+     * Takes one permit from the cluster-wide budget, then one upstream permit for {@code operation}. Lazy: each
+     * subscription tries once, and none blocks while the budget waits on the shared store.
+     */
+    public Mono<Boolean> acquirePermit(EmployeeOperation operation) {
+        return upstreamBudget.acquire().map(budgeted -> {
+            if (!budgeted) {
+                return false;
+            }
+            if (acquireLocalPermit(operation)) {
+                return true;
+            }
+            upstreamBudget.release();
+            return false;
+        });
+    }
+
+    private boolean acquireLocalPermit(EmployeeOperation operation) {
+        if (rateLimiters.get(operation).acquirePermission()) {
+            return true;
+        }
+        if (operation == EmployeeOperation.WRITE) {
+            for (EmployeeOperation lender : WRITE_BORROW_ORDER) {
+                if (rateLimiters.get(lender).acquirePermission()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
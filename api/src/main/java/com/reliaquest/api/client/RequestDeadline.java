@@ -0,0 +1,27 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.function.Function;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Time budget of one inbound request, carried to the client through the Reactor context so retries never wait past
+ * the point where the caller has given up.
+ */
+public record RequestDeadline(long deadlineNanos) {
+
+    private static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    public static Function<Context, Context> within(Duration budget) {
+        return context -> context.put(CONTEXT_KEY, new RequestDeadline(System.nanoTime() + budget.toNanos()));
+    }
+
+    public static RequestDeadline from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+}
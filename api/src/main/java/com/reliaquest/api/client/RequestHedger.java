@@ -0,0 +1,123 @@
+package com.reliaquest.api.client;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hedged requests for idempotent reads: if the first request has not answered within the operation's recent p95, a
+ * second identical request is sent and whichever answers first wins; the other is cancelled, so a slow first
+ * request does not keep holding a connection once the hedge has answered.
+ *
+ * <p>A hedge is only sent when it fits the upstream budget: it takes its own permit through
+ * {@link OperationPartitions#acquirePermit}, like any request of its partition, while leaving {@code reservePermits}
+ * in that partition's {@link RateLimiter} for regular traffic, and hedges are capped at {@code maxRate} of all
+ * requests. Errors from the hedge never surface; the caller then just waits for the first request. The latency
+ * behind the delay is the one the caller saw, so a hedge win also counts the first request's time until it lost.
+ * Counters: {@code employee.client.hedge.requests}, {@code .sent}, {@code .wins}, tagged by operation.
+ */
+@Slf4j
+public class RequestHedger {
+
+    private final boolean enabled;
+    private final Duration minDelay;
+    private final double maxRate;
+    private final int reservePermits;
+    private final OperationPartitions partitions;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public RequestHedger(
+            boolean enabled,
+            Duration minDelay,
+            double maxRate,
+            int reservePermits,
+            OperationPartitions partitions,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelay = minDelay;
+        this.maxRate = maxRate;
+        this.reservePermits = reservePermits;
+        this.partitions = partitions;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> hedge(String operationName, EmployeeOperation permitsFor, Supplier<Mono<T>> request) {
+        if (!enabled) {
+            return Mono.defer(request);
+        }
+        return Mono.defer(() -> {
+            Operation operation = operations.computeIfAbsent(operationName, Operation::new);
+            operation.requests.increment();
+            long requestNumber = operation.requestCount.incrementAndGet();
+            long started = System.nanoTime();
+            Mono<T> primary = request.get();
+            // only a value from the hedge counts; an error or nothing from it leaves the first request to answer
+            Duration threshold = operation.threshold();
+            Mono<T> hedged = Mono.delay(threshold)
+                    .flatMap(tick -> {
+                        if (!operation.reserveHedge(requestNumber, permitsFor)) {
+                            return Mono.<T>never();
+                        }
+                        return partitions.acquirePermit(permitsFor).flatMap(permitted -> {
+                            if (!permitted) {
+                                operation.hedgeCount.decrementAndGet();
+                                return Mono.<T>never();
+                            }
+                            operation.sent.increment();
+                            log.debug("Hedging {} after {}", operationName, threshold);
+                            return request.get().doOnNext(ignored -> operation.wins.increment());
+                        });
+                    })
+                    .onErrorResume(ex -> Mono.never())
+                    .switchIfEmpty(Mono.never());
+            // whichever signals first wins and the other is cancelled, so the loser frees its connection
+            return Mono.firstWithSignal(primary, hedged)
+                    .doOnSuccess(ignored -> operation.latency.record(System.nanoTime() - started));
+        });
+    }
+
+    private class Operation {
+
+        private final LatencyTracker latency = new LatencyTracker(512, 0.95);
+        private final AtomicLong requestCount = new AtomicLong();
+        private final AtomicLong hedgeCount = new AtomicLong();
+        private final Counter requests;
+        private final Counter sent;
+        private final Counter wins;
+
+        Operation(String name) {
+            requests = meterRegistry.counter("employee.client.hedge.requests", "operation", name);
+            sent = meterRegistry.counter("employee.client.hedge.sent", "operation", name);
+            wins = meterRegistry.counter("employee.client.hedge.wins", "operation", name);
+        }
+
+        Duration threshold() {
+            Duration p95 = latency.percentile(Duration.ofSeconds(1));
+            return p95.compareTo(minDelay) < 0 ? minDelay : p95;
+        }
+
+        /* Counts a hedge against maxRate if the partition has spare permits; the permit itself is taken after */
+        boolean reserveHedge(long requestNumber, EmployeeOperation permitsFor) {
+            long hedges;
+            do {
+                hedges = hedgeCount.get();
+                if (hedges + 1 > maxRate * requestNumber) {
+                    return false;
+                }
+            } while (!hedgeCount.compareAndSet(hedges, hedges + 1));
+            if (partitions.rateLimiter(permitsFor).getMetrics().getAvailablePermissions() <= reservePermits) {
+                hedgeCount.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Holds pending retries in tick-sized slots instead of one timer per retry: everything due in the same tick is
+ * released together by a single ticker thread. After a 429 many callers receive the same Retry-After, so they collapse
+ * into one slot and one wake-up.
+ */
+@Slf4j
+public class RetryParkingLot implements AutoCloseable {
+
+    private final long tickNanos;
+    private final ConcurrentSkipListMap<Long, Queue<Sinks.Empty<Void>>> slots = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService ticker;
+
+    public RetryParkingLot(Duration tick) {
+        this.tickNanos = tick.toNanos();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retry-parking-lot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::release, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Completes once {@code delay} has elapsed, rounded up to the next tick. */
+    public Mono<Void> park(Duration delay) {
+        long slot = Math.floorDiv(System.nanoTime() + delay.toNanos() + tickNanos - 1, tickNanos);
+        Sinks.Empty<Void> sink = Sinks.empty();
+        Queue<Sinks.Empty<Void>> queue = slots.computeIfAbsent(slot, ignored -> new ConcurrentLinkedQueue<>());
+        queue.add(sink);
+        if (slots.get(slot) != queue) {
+            // the ticker drained this slot while we were joining it
+            sink.tryEmitEmpty();
+        }
+        return sink.asMono().publishOn(Schedulers.parallel());
+    }
+
+    public int parked() {
+        return slots.values().stream().mapToInt(Queue::size).sum();
+    }
+
+    private void release() {
+        ConcurrentNavigableMap<Long, Queue<Sinks.Empty<Void>>> due =
+                slots.headMap(Math.floorDiv(System.nanoTime(), tickNanos), true);
+        for (Map.Entry<Long, Queue<Sinks.Empty<Void>>> entry = due.pollFirstEntry();
+                entry != null;
+                entry = due.pollFirstEntry()) {
+            Queue<Sinks.Empty<Void>> parked = entry.getValue();
+            log.debug("Releasing {} parked retries", parked.size());
+            for (Sinks.Empty<Void> sink = parked.poll(); sink != null; sink = parked.poll()) {
+                sink.tryEmitEmpty();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,307 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streams the {@code data} array of a roster response token by token and hands each employee to a consumer as a
+ * reused {@link Row}. Only the requested fields are read; everything else is skipped without building strings, and
+ * numbers stay primitive. Use this instead of binding {@code EmployeeWrapper<List<EmployeeDTO>>} when a query needs
+ * a couple of columns of a large roster.
+ */
+public class RosterProjection {
+
+    public enum Field {
+        ID,
+        NAME,
+        SALARY,
+        AGE,
+        TITLE,
+        EMAIL;
+
+        static Field of(String jsonName) {
+            return switch (jsonName) {
+                case "id" -> ID;
+                case "employee_name" -> NAME;
+                case "employee_salary" -> SALARY;
+                case "employee_age" -> AGE;
+                case "employee_title" -> TITLE;
+                case "employee_email" -> EMAIL;
+                default -> null;
+            };
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+    private final StringInterner titles;
+
+    public RosterProjection(JsonFactory jsonFactory, StringInterner titles) {
+        this.jsonFactory = jsonFactory;
+        this.titles = titles;
+    }
+
+    public void read(InputStream in, Set<Field> fields, Consumer<Row> consumer) throws IOException {
+        EnumSet<Field> wanted = EnumSet.copyOf(fields);
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (!seekData(parser)) {
+                return;
+            }
+            Row row = new Row();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row.reset();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Field field = Field.of(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (field == null || !wanted.contains(field) || value == JsonToken.VALUE_NULL) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    switch (field) {
+                        case ID -> row.id.set(parser);
+                        case NAME -> row.name.set(parser);
+                        case EMAIL -> row.email.set(parser);
+                        case SALARY -> row.salary = parser.getIntValue();
+                        case AGE -> row.age = parser.getIntValue();
+                        case TITLE -> row.title = titles.intern(
+                                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    }
+                }
+                consumer.accept(row);
+            }
+        }
+    }
+
+    public OptionalInt maxSalary(InputStream in) throws IOException {
+        int[] max = {Integer.MIN_VALUE};
+        boolean[] seen = {false};
+        read(in, EnumSet.of(Field.SALARY), row -> {
+            if (row.hasSalary()) {
+                max[0] = Math.max(max[0], row.getSalary());
+                seen[0] = true;
+            }
+        });
+        return seen[0] ? OptionalInt.of(max[0]) : OptionalInt.empty();
+    }
+
+    public List<String> topEarnerNames(InputStream in, int limit) throws IOException {
+        return topEarners(in, limit).stream().map(Earner::name).toList();
+    }
+
+    /** Highest salaries first, ties in roster order; what shards return so their top lists can be merged. */
+    public List<Earner> topEarners(InputStream in, int limit) throws IOException {
+        TopEarners top = new TopEarners(limit);
+        read(in, EnumSet.of(Field.NAME, Field.SALARY), top::offer);
+        return top.descending();
+    }
+
+    public record Earner(String name, int salary) {}
+
+    private static boolean seekData(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * One employee as seen by the consumer. Instances are reused between rows: copy out anything that must outlive
+     * the callback.
+     */
+    public static class Row {
+
+        private static final int ABSENT = Integer.MIN_VALUE;
+
+        private final Text id = new Text();
+        private final Text name = new Text();
+        private final Text email = new Text();
+        private int salary;
+        private int age;
+        private String title;
+
+        void reset() {
+            id.clear();
+            name.clear();
+            email.clear();
+            salary = ABSENT;
+            age = ABSENT;
+            title = null;
+        }
+
+        public boolean hasSalary() {
+            return salary != ABSENT;
+        }
+
+        public int getSalary() {
+            return salary;
+        }
+
+        public boolean hasAge() {
+            return age != ABSENT;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getId() {
+            return id.toString();
+        }
+
+        public String getName() {
+            return name.toString();
+        }
+
+        public String getEmail() {
+            return email.toString();
+        }
+    }
+
+    /** Reusable character buffer; a {@link String} is only created when a consumer asks for it. */
+    private static class Text {
+
+        private char[] chars = new char[64];
+        private int length = -1;
+
+        void set(JsonParser parser) throws IOException {
+            int len = parser.getTextLength();
+            if (len > chars.length) {
+                chars = new char[Math.max(len, chars.length * 2)];
+            }
+            System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), chars, 0, len);
+            length = len;
+        }
+
+        void clear() {
+            length = -1;
+        }
+
+        @Override
+        public String toString() {
+            return length < 0 ? null : new String(chars, 0, length);
+        }
+    }
+
+    /**
+     * Bounded min-heap on salary over primitive arrays. Ties keep the employee seen first, matching a stable
+     * descending sort of the full roster.
+     */
+    static class TopEarners {
+
+        private final int[] salaries;
+        private final long[] order;
+        private final String[] names;
+        private int size;
+        private long seen;
+
+        TopEarners(int limit) {
+            salaries = new int[limit];
+            order = new long[limit];
+            names = new String[limit];
+        }
+
+        void offer(Row row) {
+            long position = seen++;
+            if (!row.hasSalary() || salaries.length == 0) {
+                return;
+            }
+            int salary = row.getSalary();
+            if (size < salaries.length) {
+                salaries[size] = salary;
+                order[size] = position;
+                names[size] = row.getName();
+                siftUp(size++);
+            } else if (salary > salaries[0]) {
+                salaries[0] = salary;
+                order[0] = position;
+                names[0] = row.getName();
+                siftDown(0);
+            }
+        }
+
+        List<Earner> descending() {
+            Integer[] indexes = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = i;
+            }
+            Arrays.sort(
+                    indexes,
+                    (a, b) -> salaries[a] != salaries[b]
+                            ? Integer.compare(salaries[b], salaries[a])
+                            : Long.compare(order[a], order[b]));
+            List<Earner> result = new ArrayList<>(size);
+            for (Integer index : indexes) {
+                result.add(new Earner(names[index], salaries[index]));
+            }
+            return result;
+        }
+
+        /** Heap root is the entry that should be evicted first: lowest salary, latest position on ties. */
+        private boolean before(int a, int b) {
+            return salaries[a] != salaries[b] ? salaries[a] < salaries[b] : order[a] > order[b];
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int right = left + 1;
+                int smallest = i;
+                if (left < size && before(left, smallest)) {
+                    smallest = left;
+                }
+                if (right < size && before(right, smallest)) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int salary = salaries[a];
+            salaries[a] = salaries[b];
+            salaries[b] = salary;
+            long position = order[a];
+            order[a] = order[b];
+            order[b] = position;
+            String name = names[a];
+            names[a] = names[b];
+            names[b] = name;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A roster as {@link EmployeeWebClient} answered it. Only an authoritative one, read just now from every upstream, may
+ * stand in for the roster as a whole; the last good roster, a partial scatter, a checkpoint or the fallback are still
+ * fine to serve but can be missing employees or hold deleted ones.
+ */
+public record RosterRead(List<EmployeeDTO> employees, boolean authoritative) implements Serializable {}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.client;
+
+import java.util.Arrays;
+
+/**
+ * Deduplicates low-cardinality strings (job titles) straight from a parser's character buffer, so a repeated value
+ * costs a hash probe instead of a new {@link String}. Bounded: once full, unseen values are returned un-pooled.
+ */
+public class StringInterner {
+
+    private final String[] table;
+    private final int mask;
+    private final int maxEntries;
+    private int size;
+
+    public StringInterner(int maxEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, maxEntries * 2 - 1)) << 1;
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    public synchronized String intern(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = mix(hash) & mask;
+        for (String candidate = table[slot]; candidate != null; candidate = table[slot]) {
+            if (candidate.hashCode() == hash && contentEquals(candidate, chars, offset, length)) {
+                return candidate;
+            }
+            slot = (slot + 1) & mask;
+        }
+        String value = new String(chars, offset, length);
+        if (size < maxEntries) {
+            table[slot] = value;
+            size++;
+        }
+        return value;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    private static boolean contentEquals(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
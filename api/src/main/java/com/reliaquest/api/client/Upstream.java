@@ -0,0 +1,47 @@
+package com.reliaquest.api.client;
+
+import java.net.URI;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/** One mock employee server instance, as tracked by {@link UpstreamPool}. */
+public class Upstream {
+
+    private final String baseUrl;
+    private final URI healthUri;
+    private final WebClient webClient;
+    private volatile boolean healthy = true;
+
+    public Upstream(String baseUrl, String healthPath, WebClient webClient) {
+        this.baseUrl = baseUrl;
+        this.healthUri = URI.create(baseUrl).resolve(healthPath);
+        this.webClient = webClient;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public URI getHealthUri() {
+        return healthUri;
+    }
+
+    public WebClient getWebClient() {
+        return webClient;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /** @return whether this changed the state */
+    boolean setHealthy(boolean healthy) {
+        boolean changed = this.healthy != healthy;
+        this.healthy = healthy;
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.client;
+
+import java.io.Closeable;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The configured mock server instances. Ids are routed over a {@link ConsistentHashRing}; list-style calls go to every
+ * healthy instance.
+ *
+ * <p>Health is tracked actively, by polling each instance's health URI every {@code healthInterval}, and passively:
+ * a refused connection marks the instance down until its next successful health check. When no instance is healthy
+ * all of them are tried rather than none.
+ */
+@Slf4j
+public class UpstreamPool implements Closeable {
+
+    private final List<Upstream> upstreams;
+    private final ConsistentHashRing<Upstream> ring;
+    private final Duration healthTimeout;
+    private final Disposable healthChecks;
+
+    public UpstreamPool(List<Upstream> upstreams, int virtualNodes, Duration healthInterval, Duration healthTimeout) {
+        this.upstreams = List.copyOf(upstreams);
+        this.ring = new ConsistentHashRing<>(this.upstreams, Upstream::getBaseUrl, virtualNodes);
+        this.healthTimeout = healthTimeout;
+        this.healthChecks = this.upstreams.size() > 1 && !healthInterval.isZero()
+                ? Flux.interval(healthInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> Flux.fromIterable(this.upstreams).flatMap(this::checkHealth))
+                        .subscribe()
+                : null;
+    }
+
+    public int size() {
+        return upstreams.size();
+    }
+
+    /** Healthy instances in ring order for {@code key}, followed by the unhealthy ones as a last resort. */
+    public List<Upstream> route(String key) {
+        List<Upstream> order = ring.route(key);
+        return order.stream()
+                .sorted((a, b) -> Boolean.compare(b.isHealthy(), a.isHealthy()))
+                .toList();
+    }
+
+    public List<Upstream> healthy() {
+        List<Upstream> healthy = upstreams.stream().filter(Upstream::isHealthy).toList();
+        return healthy.isEmpty() ? upstreams : healthy;
+    }
+
+    public void reportFailure(Upstream upstream, Throwable failure) {
+        if (isConnectFailure(failure) && upstream.setHealthy(false)) {
+            log.warn("Upstream {} marked down: {}", upstream, failure.toString());
+        }
+    }
+
+    /** The request never reached the server, so it is safe to send it elsewhere even if not idempotent. */
+    public static boolean isConnectFailure(Throwable failure) {
+        return failure instanceof WebClientRequestException && failure.getCause() instanceof ConnectException;
+    }
+
+    /**
+     * The server could not answer: the connection was refused, the call timed out or it answered 5xx. Another
+     * instance may do better; any other answer, such as 404 or 429, would be the same there.
+     */
+    public static boolean isUnavailable(Throwable failure) {
+        if (failure instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return isConnectFailure(failure)
+                || failure instanceof TimeoutException
+                || failure instanceof WebClientRequestException request
+                        && request.getCause() instanceof io.netty.handler.timeout.TimeoutException;
+    }
+
+    private Mono<Void> checkHealth(Upstream upstream) {
+        return upstream.getWebClient()
+                .get()
+                .uri(upstream.getHealthUri())
+                // actuator does not speak the CBOR that API calls may default to
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(healthTimeout)
+                .map(response -> true)
+                .onErrorReturn(false)
+                .doOnNext(healthy -> {
+                    if (upstream.setHealthy(healthy)) {
+                        log.warn("Upstream {} is now {}", upstream, healthy ? "up" : "down");
+                    }
+                })
+                .then();
+    }
+
+    @Override
+    public void close() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.RateLimitExceededException;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Retry policy for calls to the mock employee API. Transient failures back off exponentially with full jitter; a 429
+ * waits at least as long as upstream asked for via Retry-After. A retry is abandoned as soon as its wait would run past
+ * the {@link RequestDeadline} of the inbound request, so a 30-90s upstream backoff fails fast to the fallback instead
+ * of holding a thread and re-spending rate-limiter permits. Waiting retries are parked in a shared
+ * {@link RetryParkingLot}. Each attempt is also cut off after {@code attemptTimeout}, so one hung call cannot use up
+ * the whole request deadline.
+ *
+ * <p>A call that upstream may have applied before failing, such as a create, uses {@link #withoutReplays()}: it is
+ * only retried after a 429 or a refused connection, which upstream never processed.
+ */
+@Slf4j
+public class UpstreamRetry extends Retry {
+
+    private static final Duration CLOCK_SKEW = Duration.ofDays(1);
+
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration attemptTimeout;
+    private final RetryParkingLot parkingLot;
+    private final boolean replays;
+
+    public UpstreamRetry(
+            int maxAttempts,
+            Duration baseBackoff,
+            Duration maxBackoff,
+            Duration attemptTimeout,
+            RetryParkingLot parkingLot) {
+        this(maxAttempts, baseBackoff, maxBackoff, attemptTimeout, parkingLot, true);
+    }
+
+    private UpstreamRetry(
+            int maxAttempts,
+            Duration baseBackoff,
+            Duration maxBackoff,
+            Duration attemptTimeout,
+            RetryParkingLot parkingLot,
+            boolean replays) {
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.attemptTimeout = attemptTimeout;
+        this.parkingLot = parkingLot;
+        this.replays = replays;
+    }
+
+    /** This policy for calls that must not be sent twice if upstream might have applied the first one. */
+    public UpstreamRetry withoutReplays() {
+        return new UpstreamRetry(maxAttempts, baseBackoff, maxBackoff, attemptTimeout, parkingLot, false);
+    }
+
+    /** One attempt of {@code call}, failing with a retryable {@link TimeoutException} after {@code attemptTimeout}. */
+    public <T> Mono<T> attempt(Mono<T> call) {
+        return call.timeout(attemptTimeout);
+    }
+
+    @Override
+    public Publisher<?> generateCompanion(Flux<RetrySignal> retrySignals) {
+        return Flux.deferContextual(context -> retrySignals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            if (!shouldRetry(failure) || signal.totalRetries() + 1 >= maxAttempts) {
+                return Mono.error(failure);
+            }
+            Duration delay = delayFor(signal.totalRetries(), failure);
+            RequestDeadline deadline = RequestDeadline.from(context);
+            if (deadline != null && delay.compareTo(deadline.remaining()) >= 0) {
+                log.info("Not retrying after {}: wait of {} exceeds remaining request budget", failure, delay);
+                return Mono.error(failure);
+            }
+            log.info(
+                    "Retrying in {} (attempt {} of {}) after {}",
+                    delay,
+                    signal.totalRetries() + 2,
+                    maxAttempts,
+                    failure);
+            return parkingLot.park(delay).thenReturn(signal.totalRetries());
+        }));
+    }
+
+    Duration delayFor(long retry, Throwable failure) {
+        long capMillis = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(retry, 20));
+        long backoffMillis = ThreadLocalRandom.current().nextLong(capMillis + 1);
+        if (failure instanceof RateLimitExceededException rateLimited && rateLimited.getRetryAfter() != null) {
+            // spread callers released by the same Retry-After over an extra 10%
+            long retryAfterMillis = rateLimited.getRetryAfter().toMillis();
+            long spread = ThreadLocalRandom.current().nextLong(retryAfterMillis / 10 + 1);
+            return Duration.ofMillis(Math.max(retryAfterMillis + spread, backoffMillis));
+        }
+        return Duration.ofMillis(backoffMillis);
+    }
+
+    boolean shouldRetry(Throwable failure) {
+        return isRetryable(failure)
+                && (replays || failure instanceof RateLimitExceededException || UpstreamPool.isConnectFailure(failure));
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        if (failure instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return failure instanceof RateLimitExceededException
+                || failure instanceof WebClientRequestException
+                || failure instanceof IOException
+                || failure instanceof TimeoutException;
+    }
+
+    /**
+     * Wait requested by a 429 response: {@code Retry-After} in seconds or as an HTTP date, else a
+     * {@code RateLimit-Reset}/{@code X-RateLimit-Reset} in seconds. A number of seconds that is past the current epoch
+     * second, give or take a day of clock skew, is the epoch second of the reset, as some servers send
+     * {@code X-RateLimit-Reset}. {@code null} when upstream sent neither.
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            value = headers.getFirst("RateLimit-Reset");
+        }
+        if (value == null) {
+            value = headers.getFirst("X-RateLimit-Reset");
+        }
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long seconds = Long.parseLong(value.trim());
+            long now = Instant.now().getEpochSecond();
+            if (seconds > now - CLOCK_SKEW.toSeconds()) {
+                seconds -= now;
+            }
+            return Duration.ofSeconds(Math.max(0, seconds));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException unparseable) {
+                log.debug("Ignoring unparseable rate-limit header value '{}'", value);
+                return null;
+            }
+        }
+    }
+}
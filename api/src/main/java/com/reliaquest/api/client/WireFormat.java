@@ -0,0 +1,28 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Encoding requested from the mock employee API. CBOR carries the same document as JSON with binary numbers and
+ * length-prefixed strings, which is smaller on the wire and cheaper to parse for large rosters.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory newJsonFactory() {
+        return this == CBOR ? new CBORFactory() : new JsonFactory();
+    }
+}
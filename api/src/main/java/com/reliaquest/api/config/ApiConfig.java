@@ -1,33 +1,146 @@
 package com.reliaquest.api.config;
 
-import io.github.resilience4j.ratelimiter.RateLimiter;
+import com.reliaquest.api.client.OperationPartitions;
+import com.reliaquest.api.client.RequestHedger;
+import com.reliaquest.api.client.RetryParkingLot;
+import com.reliaquest.api.client.RosterProjection;
+import com.reliaquest.api.client.StringInterner;
+import com.reliaquest.api.client.Upstream;
+import com.reliaquest.api.client.UpstreamPool;
+import com.reliaquest.api.client.UpstreamRetry;
+import com.reliaquest.api.client.WireFormat;
+import com.reliaquest.api.state.UpstreamBudget;
+import com.reliaquest.api.web.AdaptiveConcurrencyLimit;
+import com.reliaquest.api.web.AdmissionControlFilter;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
-import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class ApiConfig {
 
+    /*
+     * One WebClient per mock server instance; base-urls is comma-separated and defaults to the single base-url.
+     */
+    @Bean(destroyMethod = "close")
+    public UpstreamPool upstreamPool(
+            WebClient.Builder builder,
+            @Value("${webclient.employee.base-urls:${webclient.employee.base-url}}") List<String> baseUrls,
+            @Value("${webclient.employee.wire-format:json}") WireFormat wireFormat,
+            @Value("${webclient.employee.virtual-nodes:128}") int virtualNodes,
+            @Value("${webclient.employee.health.path:/actuator/health}") String healthPath,
+            @Value("${webclient.employee.health.interval:5s}") Duration healthInterval,
+            @Value("${webclient.employee.health.timeout:1s}") Duration healthTimeout) {
+        List<Upstream> upstreams = baseUrls.stream()
+                .map(String::trim)
+                .map(baseUrl -> new Upstream(
+                        baseUrl,
+                        healthPath,
+                        builder.clone()
+                                .baseUrl(baseUrl)
+                                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .defaultHeader(
+                                        HttpHeaders.ACCEPT,
+                                        wireFormat.getMediaType().toString())
+                                .codecs(codecs -> codecs.customCodecs().register(new Jackson2CborDecoder()))
+                                .build()))
+                .toList();
+        return new UpstreamPool(upstreams, virtualNodes, healthInterval, healthTimeout);
+    }
+
+    @Bean
+    public RosterProjection rosterProjection(@Value("${webclient.employee.wire-format:json}") WireFormat wireFormat) {
+        return new RosterProjection(wireFormat.newJsonFactory(), new StringInterner(4096));
+    }
+
+    @Bean(destroyMethod = "close")
+    public RetryParkingLot retryParkingLot(@Value("${webclient.employee.retry.tick:50ms}") Duration tick) {
+        return new RetryParkingLot(tick);
+    }
+
+    @Bean
+    public UpstreamRetry employeeRetry(
+            RetryParkingLot retryParkingLot,
+            @Value("${webclient.employee.retry.max-attempts:3}") int maxAttempts,
+            @Value("${webclient.employee.retry.base-backoff:200ms}") Duration baseBackoff,
+            @Value("${webclient.employee.retry.max-backoff:5s}") Duration maxBackoff,
+            @Value("${webclient.employee.retry.attempt-timeout:3s}") Duration attemptTimeout) {
+        return new UpstreamRetry(maxAttempts, baseBackoff, maxBackoff, attemptTimeout, retryParkingLot);
+    }
+
+    /*
+     * Resilience4j's registries, their metrics binders and event consumers cost a few hundred ms of startup and are
+     * only needed by the first upstream call, so all of its auto-configured beans are created on first use. A bean
+     * made by a factory registered as a plain singleton has no definition to look at and is left alone.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyResilience4j() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String factory = definition.getFactoryBeanName();
+                String type = factory == null
+                        ? definition.getBeanClassName()
+                        : beanFactory.containsBeanDefinition(factory)
+                                ? beanFactory.getBeanDefinition(factory).getBeanClassName()
+                                : null;
+                if (type != null && type.startsWith("io.github.resilience4j.")) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    @Lazy
+    @Bean
+    public OperationPartitions operationPartitions(
+            BulkheadRegistry bulkheadRegistry, RateLimiterRegistry rateLimiterRegistry, UpstreamBudget upstreamBudget) {
+        return new OperationPartitions(bulkheadRegistry, rateLimiterRegistry, upstreamBudget);
+    }
+
+    @Lazy
     @Bean
-    public WebClient webClient(WebClient.Builder builder, @Value("${webclient.employee.base-url}") String baseUrl) {
-        return builder.baseUrl(baseUrl)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+    public RequestHedger requestHedger(
+            OperationPartitions operationPartitions,
+            MeterRegistry meterRegistry,
+            @Value("${webclient.employee.hedge.enabled:false}") boolean enabled,
+            @Value("${webclient.employee.hedge.min-delay:50ms}") Duration minDelay,
+            @Value("${webclient.employee.hedge.max-rate:0.1}") double maxRate,
+            @Value("${webclient.employee.hedge.reserve-permits:2}") int reservePermits) {
+        return new RequestHedger(enabled, minDelay, maxRate, reservePermits, operationPartitions, meterRegistry);
     }
 
     @Bean
-    public Retry employeeRetry(RetryRegistry retryRegistry) {
-        return retryRegistry.retry("employeeRetry");
+    public AdaptiveConcurrencyLimit admissionLimit(
+            @Value("${api.admission.initial-limit:20}") int initialLimit,
+            @Value("${api.admission.min-limit:4}") int minLimit,
+            @Value("${api.admission.max-limit:200}") int maxLimit,
+            @Value("${api.admission.latency-target:2s}") Duration latencyTarget,
+            @Value("${api.admission.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTarget, backoffRatio);
     }
 
     @Bean
-    public RateLimiter employeeApiLimiter(RateLimiterRegistry rateLimiterRegistry) {
-        return rateLimiterRegistry.rateLimiter("employeeApiLimiter");
+    @ConditionalOnProperty(name = "api.admission.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimit admissionLimit, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionLimit, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
     }
 }
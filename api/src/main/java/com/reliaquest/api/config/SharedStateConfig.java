@@ -0,0 +1,77 @@
+package com.reliaquest.api.config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.reliaquest.api.client.EmployeeWebClient;
+import com.reliaquest.api.state.HazelcastSharedStateStore;
+import com.reliaquest.api.state.LocalSharedStateStore;
+import com.reliaquest.api.state.SharedStateStore;
+import com.reliaquest.api.state.UpstreamBudget;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses where replica-shared state lives: {@code api.shared-state.type=local} (default) keeps it in process,
+ * {@code hazelcast} starts an embedded member that joins the other replicas listed in
+ * {@code api.shared-state.hazelcast.members}.
+ */
+@Configuration
+public class SharedStateConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "api.shared-state.type", havingValue = "local", matchIfMissing = true)
+    public SharedStateStore localSharedStateStore() {
+        return new LocalSharedStateStore();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "api.shared-state.type", havingValue = "hazelcast")
+    public HazelcastInstance hazelcastInstance(
+            @Value("${api.shared-state.hazelcast.cluster-name:employee-api}") String clusterName,
+            @Value("${api.shared-state.hazelcast.port:5701}") int port,
+            @Value("${api.shared-state.hazelcast.members:127.0.0.1}") List<String> members) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(port).setPortAutoIncrement(true);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).setMembers(members);
+        /*
+         * Roster reads are answered from a near cache holding the deserialized roster rather than fetching and
+         * deserializing it on every read; invalidations are sent unbatched so a create or delete on one replica
+         * drops the cached roster on the others at once.
+         */
+        config.setProperty("hazelcast.map.invalidation.batch.enabled", "false");
+        config.addMapConfig(new MapConfig(EmployeeWebClient.ROSTER)
+                .setNearCacheConfig(new NearCacheConfig(EmployeeWebClient.ROSTER)
+                        .setInMemoryFormat(InMemoryFormat.OBJECT)
+                        .setCacheLocalEntries(true)));
+        return Hazelcast.newHazelcastInstance(config);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "api.shared-state.type", havingValue = "hazelcast")
+    public SharedStateStore hazelcastSharedStateStore(HazelcastInstance hazelcastInstance) {
+        return new HazelcastSharedStateStore(hazelcastInstance);
+    }
+
+    @Bean
+    public UpstreamBudget upstreamBudget(
+            SharedStateStore sharedStateStore,
+            @Value("${api.shared-state.upstream-budget.limit:30}") long limit,
+            @Value("${api.shared-state.upstream-budget.window:1s}") Duration window,
+            @Value("${api.shared-state.upstream-budget.batch:5}") long batch) {
+        return new UpstreamBudget(sharedStateStore, "employee-api", limit, window, batch);
+    }
+}
@@ -1,19 +1,31 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.client.RequestDeadline;
 import com.reliaquest.api.model.EmployeeDTO;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.RosterQuery;
+import com.reliaquest.api.model.RosterQueryResult;
+import com.reliaquest.api.model.SalaryHistogram;
+import com.reliaquest.api.model.SalaryPercentiles;
 import com.reliaquest.api.service.EmployeeService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
-import java.util.UUID;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.util.context.Context;
 
 @RestController
 @RequestMapping("/api")
@@ -21,19 +33,30 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class EmployeeController implements IEmployeeController<EmployeeDTO, EmployeeInput> {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private final EmployeeService service;
 
+    /* The request-scoped proxy; IEmployeeController's signatures leave no room for a header parameter */
+    @Autowired
+    private final HttpServletRequest httpRequest;
+
+    @Value("${api.request.deadline:10s}")
+    private Duration requestDeadline;
+
     @Override
     public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        List<EmployeeDTO> employees = service.getAllEmployees().block();
+        List<EmployeeDTO> employees =
+                service.getAllEmployees().contextWrite(withinDeadline()).block();
         return ResponseEntity.ok(employees);
     }
 
     @Override
     public ResponseEntity<List<EmployeeDTO>> getEmployeesByNameSearch(String searchString) {
-        List<EmployeeDTO> employees =
-                service.getEmployeesByNameSearch(searchString).block();
+        List<EmployeeDTO> employees = service.getEmployeesByNameSearch(searchString)
+                .contextWrite(withinDeadline())
+                .block();
         return ResponseEntity.ok(employees);
     }
 
@@ -48,32 +71,65 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
             log.info("inside if topTenHighestEarningEmployeeNames");
             return getTopTenHighestEarningEmployeeNames();
         } else {
-            EmployeeDTO employee = service.getEmployeeById(id).block();
+            EmployeeDTO employee =
+                    service.getEmployeeById(id).contextWrite(withinDeadline()).block();
             return ResponseEntity.ok(employee);
         }
     }
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        return ResponseEntity.ok(service.getHighestSalaryOfEmployees());
+        return ResponseEntity.ok(service.getHighestSalaryOfEmployees()
+                .contextWrite(withinDeadline())
+                .block());
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        return ResponseEntity.ok(service.getTop10HighestEarningEmployeeNames());
+        return ResponseEntity.ok(service.getTop10HighestEarningEmployeeNames()
+                .contextWrite(withinDeadline())
+                .block());
     }
 
     @Override
     public ResponseEntity<EmployeeDTO> createEmployee(@Valid @RequestBody EmployeeInput request) {
         log.info("Received createEmployee name={}" + request.getName());
-        return service.createEmployee(UUID.randomUUID().toString(), request)
+        // a client retrying with the same key gets the first result from whichever replica it reaches
+        String idempotencyKey = httpRequest.getHeader(IDEMPOTENCY_KEY);
+        return service.createEmployee(
+                        idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey, request)
                 .map(emp -> ResponseEntity.status(HttpStatus.CREATED).body(emp))
+                .contextWrite(withinDeadline())
                 .block();
     }
 
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
-        String name = service.deleteEmployeeById(id).block();
+        String name =
+                service.deleteEmployeeById(id).contextWrite(withinDeadline()).block();
         return ResponseEntity.ok(name);
     }
+
+    @PostMapping("/query")
+    public ResponseEntity<RosterQueryResult> query(@RequestBody RosterQuery query) {
+        return ResponseEntity.ok(
+                service.query(query).contextWrite(withinDeadline()).block());
+    }
+
+    @GetMapping("/salary/percentiles")
+    public ResponseEntity<SalaryPercentiles> getSalaryPercentiles(
+            @RequestParam(name = "p", required = false) List<Double> p) {
+        return ResponseEntity.ok(
+                service.getSalaryPercentiles(p).contextWrite(withinDeadline()).block());
+    }
+
+    @GetMapping("/salary/histogram")
+    public ResponseEntity<SalaryHistogram> getSalaryHistogram() {
+        return ResponseEntity.ok(
+                service.getSalaryHistogram().contextWrite(withinDeadline()).block());
+    }
+
+    private Function<Context, Context> withinDeadline() {
+        return RequestDeadline.within(requestDeadline);
+    }
 }
@@ -2,6 +2,7 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.exception.EmployeeCreationException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.InvalidQueryException;
 import com.reliaquest.api.exception.RateLimitExceededException;
 import com.reliaquest.api.model.EmployeeWrapper;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +34,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(ex.getStatus()).body(wrapper);
     }
 
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<EmployeeWrapper<String>> invalidQuery(InvalidQueryException ex) {
+        log.info("Error handling invalidQuery", ex.getMessage());
+        EmployeeWrapper<String> wrapper = new EmployeeWrapper<>();
+        wrapper.setErrorMessage(ex.getMessage());
+        wrapper.setStatus("Failed: Invalid query");
+        return ResponseEntity.status(ex.getStatus()).body(wrapper);
+    }
+
     @ExceptionHandler(RateLimitExceededException.class)
     public ResponseEntity<EmployeeWrapper<String>> handleRateLimit(RateLimitExceededException ex) {
         log.info("Error handling handleRateLimit", ex.getMessage());
@@ -0,0 +1,14 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidQueryException extends RuntimeException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -1,16 +1,28 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
 import org.springframework.http.HttpStatus;
 
 public class RateLimitExceededException extends RuntimeException {
     private final HttpStatus status;
+    private final Duration retryAfter;
 
     public HttpStatus getStatus() {
         return status;
     }
 
+    /** Wait requested by upstream via Retry-After or a rate-limit reset header, or {@code null} if none was sent. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
     public RateLimitExceededException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    public RateLimitExceededException(HttpStatus status, String message, Duration retryAfter) {
         super(message);
         this.status = status;
+        this.retryAfter = retryAfter;
     }
 }
@@ -1,20 +1,45 @@
 package com.reliaquest.api.exception;
 
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
-import io.github.resilience4j.reactor.retry.RetryOperator;
-import io.github.resilience4j.retry.Retry;
+import com.reliaquest.api.client.EmployeeOperation;
+import com.reliaquest.api.client.OperationPartitions;
+import com.reliaquest.api.client.UpstreamRetry;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
 import java.util.function.Function;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 public class ResilienceOperator {
-    public static <T> Function<Mono<T>, Mono<T>> withResilience(RateLimiter rateLimiter, Retry retry, T fallbackValue) {
+    public static <T> Function<Mono<T>, Mono<T>> withResilience(
+            OperationPartitions partitions, EmployeeOperation operation, Retry retry, T fallbackValue) {
+        return withResilience(partitions, operation, retry, Mono.empty(), fallbackValue);
+    }
+
+    /**
+     * Like {@link #withResilience(OperationPartitions, EmployeeOperation, Retry, Object)}, but answers with
+     * {@code staleValue} when the call is shed by its partition. An empty {@code staleValue} falls through to the
+     * fallback.
+     */
+    public static <T> Function<Mono<T>, Mono<T>> withResilience(
+            OperationPartitions partitions,
+            EmployeeOperation operation,
+            Retry retry,
+            Mono<T> staleValue,
+            T fallbackValue) {
 
+        return mono -> mono.transform(isolated(partitions, operation, retry))
+                .transform(withFallback(staleValue, fallbackValue));
+    }
+
+    /**
+     * The degradation half of {@link #withResilience}, for calls isolated elsewhere (such as a batch shared by several
+     * callers): {@code staleValue} when shed, then {@code fallbackValue} when empty or failed.
+     */
+    public static <T> Function<Mono<T>, Mono<T>> withFallback(Mono<T> staleValue, T fallbackValue) {
         return mono -> mono
-                // Apply rate limiting
-                .transformDeferred(RateLimiterOperator.of(rateLimiter))
-                // Apply retry on transient errors
-                .transformDeferred(RetryOperator.of(retry))
+                // Shed: serve stale data when the partition is saturated
+                .onErrorResume(ResilienceOperator::isShed, ex -> staleValue)
                 // Fallback on empty
                 .switchIfEmpty(Mono.just(fallbackValue))
                 // Fallback on error
@@ -22,4 +47,28 @@ public class ResilienceOperator {
                     return Mono.just(fallbackValue);
                 });
     }
+
+    /**
+     * Rate limiting, retry and bulkhead for {@code operation}, with errors left to the caller. An {@link UpstreamRetry}
+     * also bounds each attempt with its timeout.
+     */
+    public static <T> Function<Mono<T>, Mono<T>> isolated(
+            OperationPartitions partitions, EmployeeOperation operation, Retry retry) {
+
+        return mono -> partitions
+                .acquirePermit(operation)
+                .flatMap(permitted -> permitted
+                        ? (retry instanceof UpstreamRetry upstream ? upstream.attempt(mono) : mono)
+                        : Mono.<T>error(
+                                RequestNotPermitted.createRequestNotPermitted(partitions.rateLimiter(operation))))
+                // Bound concurrent calls per operation; the slot is taken before the permit so a full bulkhead
+                // does not spend one, and is given back while a retry waits
+                .transformDeferred(BulkheadOperator.of(partitions.bulkhead(operation)))
+                // Apply retry on transient errors; each attempt takes a new slot and permit
+                .retryWhen(retry);
+    }
+
+    public static boolean isShed(Throwable ex) {
+        return ex instanceof BulkheadFullException || ex instanceof RequestNotPermitted;
+    }
 }
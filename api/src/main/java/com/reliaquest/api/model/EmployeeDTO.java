@@ -1,6 +1,7 @@
 package com.reliaquest.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,7 +9,10 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class EmployeeDTO {
+public class EmployeeDTO implements Serializable {
+
+    /* Rosters travel between replicas through Hazelcast; bump only on an incompatible change */
+    private static final long serialVersionUID = 1L;
 
     private String id;
 
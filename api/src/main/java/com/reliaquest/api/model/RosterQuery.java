@@ -0,0 +1,48 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of {@code POST /api/query}. Every part is optional:
+ *
+ * <pre>
+ * {
+ *   "filter":     [{"field": "title", "op": "eq", "value": "Engineer"},
+ *                  {"field": "salary", "op": "between", "value": [50000, 90000]}],
+ *   "groupBy":    ["title", "age:10"],
+ *   "aggregates": ["count", "avg(salary)", "max(age)"],
+ *   "sort":       ["avg(salary) desc"],
+ *   "limit":      20
+ * }
+ * </pre>
+ *
+ * Filters are ANDed. Fields are {@code id, name, email, title, salary, age}; ops are {@code eq, ne, in, lt, lte, gt,
+ * gte, between} on salary and age, {@code eq, ne, in, contains} on title, name and email, {@code match} (ranked,
+ * typo-tolerant) on name and {@code eq, in} on id. {@code groupBy} takes title, salary or age, the numeric ones with an
+ * optional bucket width after a colon. Aggregates are {@code count} and {@code count|sum|avg|min|max} of salary or age.
+ * Without aggregates or groups the matching employees are returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterQuery {
+
+    private List<Condition> filter;
+    private List<String> groupBy;
+    private List<String> aggregates;
+    private List<String> sort;
+    private Integer limit;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Condition {
+
+        private String field;
+        private String op;
+        private Object value;
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.query.QueryPlan;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Answer to a {@link RosterQuery}: either {@code employees} or {@code groups}, plus how it was executed. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RosterQueryResult {
+
+    /** Employees matching the filter, before the limit. */
+    private int matched;
+
+    private List<EmployeeDTO> employees;
+    private List<Group> groups;
+    private QueryPlan plan;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        private Map<String, Object> key;
+        private Map<String, Object> values;
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryHistogram {
+
+    /** Employees with a salary. */
+    private long count;
+
+    private int bucketWidth;
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        /** Inclusive bounds; the last bucket is open-ended and has no {@code to}. */
+        private int from;
+
+        private Integer to;
+        private long count;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryPercentiles {
+
+    /** Employees with a salary. */
+    private long count;
+
+    /** Salary at each requested percentile, keyed like {@code p50} or {@code p99.9}; null when there are none. */
+    private Map<String, Integer> percentiles;
+}
@@ -0,0 +1,325 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.exception.InvalidQueryException;
+import com.reliaquest.api.model.RosterQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link RosterQuery} parsed and validated against the grammar, independent of any roster. Preparing first means a
+ * malformed query is rejected before the roster is fetched.
+ */
+public final class PreparedQuery {
+
+    enum Op {
+        EQ,
+        NE,
+        IN,
+        LT,
+        LTE,
+        GT,
+        GTE,
+        BETWEEN,
+        CONTAINS,
+        MATCH
+    }
+
+    enum Fn {
+        COUNT,
+        SUM,
+        AVG,
+        MIN,
+        MAX
+    }
+
+    record Condition(QueryField field, Op op, List<Object> values) {
+
+        /** Ids and ranked name matches are answered from an index rather than by testing rows. */
+        boolean isIndexed() {
+            return field == QueryField.ID || op == Op.MATCH;
+        }
+
+        /** Relative cost of testing one row: indexed sets, then int columns, then decoded strings. */
+        int cost() {
+            if (isIndexed()) {
+                return 0;
+            }
+            return field.isNumeric() || field == QueryField.TITLE ? 1 : 2;
+        }
+
+        int intValue(int i) {
+            return (Integer) values.get(i);
+        }
+
+        String textValue(int i) {
+            return (String) values.get(i);
+        }
+
+        @Override
+        public String toString() {
+            Object shown = op == Op.IN || op == Op.BETWEEN ? values : values.get(0);
+            return field.label() + " " + op.name().toLowerCase(Locale.ROOT) + " " + shown;
+        }
+    }
+
+    record GroupKey(QueryField field, int bucket) {
+
+        @Override
+        public String toString() {
+            return bucket > 1 ? field.label() + ":" + bucket : field.label();
+        }
+    }
+
+    /** {@code field} is {@code null} for a plain row count. */
+    record Aggregate(Fn fn, QueryField field, String label) {}
+
+    record SortKey(String name, boolean descending) {
+
+        @Override
+        public String toString() {
+            return name + (descending ? " desc" : " asc");
+        }
+    }
+
+    private static final Set<Op> NUMERIC_OPS =
+            EnumSet.of(Op.EQ, Op.NE, Op.IN, Op.LT, Op.LTE, Op.GT, Op.GTE, Op.BETWEEN);
+    private static final Set<Op> TEXT_OPS = EnumSet.of(Op.EQ, Op.NE, Op.IN, Op.CONTAINS);
+    private static final Pattern AGGREGATE = Pattern.compile("(count|sum|avg|min|max)\\s*\\(\\s*(\\w*)\\s*\\)");
+    private static final int MAX_GROUP_KEYS = 2;
+
+    private final List<Condition> conditions;
+    private final List<GroupKey> groupBy;
+    private final List<Aggregate> aggregates;
+    private final List<SortKey> sort;
+    private final int limit;
+
+    private PreparedQuery(
+            List<Condition> conditions,
+            List<GroupKey> groupBy,
+            List<Aggregate> aggregates,
+            List<SortKey> sort,
+            int limit) {
+        this.conditions = conditions;
+        this.groupBy = groupBy;
+        this.aggregates = aggregates;
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    static PreparedQuery of(RosterQuery query, int defaultLimit, int maxLimit) {
+        List<Condition> conditions = new ArrayList<>();
+        for (RosterQuery.Condition condition : orEmpty(query.getFilter())) {
+            conditions.add(condition(condition));
+        }
+        List<GroupKey> groupBy = new ArrayList<>();
+        for (String key : orEmpty(query.getGroupBy())) {
+            groupBy.add(groupKey(key));
+        }
+        if (groupBy.size() > MAX_GROUP_KEYS) {
+            throw new InvalidQueryException("At most " + MAX_GROUP_KEYS + " groupBy fields are supported");
+        }
+        List<Aggregate> aggregates = new ArrayList<>();
+        for (String aggregate : orEmpty(query.getAggregates())) {
+            aggregates.add(aggregate(aggregate));
+        }
+        if (!groupBy.isEmpty() && aggregates.isEmpty()) {
+            aggregates.add(new Aggregate(Fn.COUNT, null, "count"));
+        }
+        Set<String> sortable = new HashSet<>();
+        if (aggregates.isEmpty()) {
+            for (QueryField field : QueryField.values()) {
+                sortable.add(field.label());
+            }
+        } else {
+            groupBy.forEach(key -> sortable.add(key.field().label()));
+            aggregates.forEach(aggregate -> sortable.add(aggregate.label()));
+        }
+        List<SortKey> sort = new ArrayList<>();
+        for (String key : orEmpty(query.getSort())) {
+            sort.add(sortKey(key, sortable));
+        }
+        int limit = query.getLimit() == null ? defaultLimit : query.getLimit();
+        if (limit < 1) {
+            throw new InvalidQueryException("limit must be positive");
+        }
+        return new PreparedQuery(conditions, groupBy, aggregates, sort, Math.min(limit, maxLimit));
+    }
+
+    List<Condition> conditions() {
+        return conditions;
+    }
+
+    List<GroupKey> groupBy() {
+        return groupBy;
+    }
+
+    List<Aggregate> aggregates() {
+        return aggregates;
+    }
+
+    List<SortKey> sort() {
+        return sort;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    boolean isAggregation() {
+        return !aggregates.isEmpty();
+    }
+
+    private static Condition condition(RosterQuery.Condition condition) {
+        QueryField field = QueryField.of(condition.getField());
+        Op op = op(condition.getOp());
+        Set<Op> allowed =
+                switch (field) {
+                    case ID -> EnumSet.of(Op.EQ, Op.IN);
+                    case NAME -> EnumSet.of(Op.EQ, Op.NE, Op.IN, Op.CONTAINS, Op.MATCH);
+                    case SALARY, AGE -> NUMERIC_OPS;
+                    default -> TEXT_OPS;
+                };
+        if (!allowed.contains(op)) {
+            throw new InvalidQueryException("Operator '" + condition.getOp() + "' does not apply to " + field.label());
+        }
+        List<Object> values =
+                switch (op) {
+                    case IN -> listValue(condition, -1);
+                    case BETWEEN -> listValue(condition, 2);
+                    default -> List.of(scalar(condition, condition.getValue()));
+                };
+        if (field.isNumeric()) {
+            values = values.stream()
+                    .map(value -> (Object) intValue(condition, value))
+                    .toList();
+        } else {
+            values =
+                    values.stream().map(value -> (Object) String.valueOf(value)).toList();
+        }
+        if (op == Op.BETWEEN && (Integer) values.get(0) > (Integer) values.get(1)) {
+            throw new InvalidQueryException("between bounds of " + field.label() + " are reversed");
+        }
+        return new Condition(field, op, values);
+    }
+
+    private static Op op(String name) {
+        try {
+            return Op.valueOf(String.valueOf(name).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Unknown operator '" + name + "'");
+        }
+    }
+
+    private static List<Object> listValue(RosterQuery.Condition condition, int expectedSize) {
+        if (!(condition.getValue() instanceof List<?> list)
+                || list.isEmpty()
+                || (expectedSize > 0 && list.size() != expectedSize)) {
+            String shape = expectedSize > 0 ? "a list of " + expectedSize + " values" : "a non-empty list";
+            throw new InvalidQueryException(condition.getOp() + " on " + condition.getField() + " needs " + shape);
+        }
+        List<Object> values = new ArrayList<>(list.size());
+        for (Object value : list) {
+            values.add(scalar(condition, value));
+        }
+        return values;
+    }
+
+    private static Object scalar(RosterQuery.Condition condition, Object value) {
+        if (value == null || value instanceof Collection<?> || value instanceof java.util.Map<?, ?>) {
+            throw new InvalidQueryException(
+                    condition.getOp() + " on " + condition.getField() + " needs a single value");
+        }
+        return value;
+    }
+
+    private static int intValue(RosterQuery.Condition condition, Object value) {
+        try {
+            if (value instanceof Number number) {
+                double asDouble = number.doubleValue();
+                if (asDouble == Math.rint(asDouble) && Math.abs(asDouble) <= Integer.MAX_VALUE) {
+                    return number.intValue();
+                }
+            } else {
+                return Integer.parseInt(value.toString().trim());
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidQueryException(condition.getField() + " values must be whole numbers, got '" + value + "'");
+    }
+
+    private static GroupKey groupKey(String key) {
+        String[] parts = String.valueOf(key).split(":", 2);
+        QueryField field = QueryField.of(parts[0]);
+        if (field != QueryField.TITLE && !field.isNumeric()) {
+            throw new InvalidQueryException("groupBy supports title, salary and age, not " + field.label());
+        }
+        int bucket = 1;
+        if (parts.length == 2) {
+            try {
+                bucket = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                bucket = 0;
+            }
+            if (!field.isNumeric() || bucket < 1) {
+                throw new InvalidQueryException(
+                        "Invalid groupBy '" + key + "', buckets are positive widths of salary or age");
+            }
+        }
+        return new GroupKey(field, bucket);
+    }
+
+    private static Aggregate aggregate(String aggregate) {
+        String normalized = String.valueOf(aggregate).trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("count")) {
+            return new Aggregate(Fn.COUNT, null, "count");
+        }
+        Matcher matcher = AGGREGATE.matcher(normalized);
+        if (!matcher.matches()) {
+            throw new InvalidQueryException(
+                    "Invalid aggregate '" + aggregate + "', expected e.g. count or avg(salary)");
+        }
+        Fn fn = Fn.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+        if (matcher.group(2).isEmpty()) {
+            if (fn != Fn.COUNT) {
+                throw new InvalidQueryException(fn.name().toLowerCase(Locale.ROOT) + " needs a field");
+            }
+            return new Aggregate(Fn.COUNT, null, "count");
+        }
+        QueryField field = QueryField.of(matcher.group(2));
+        if (!field.isNumeric()) {
+            throw new InvalidQueryException("Aggregates apply to salary and age, not " + field.label());
+        }
+        return new Aggregate(fn, field, matcher.group(1) + "(" + field.label() + ")");
+    }
+
+    private static SortKey sortKey(String key, Set<String> sortable) {
+        String[] parts = String.valueOf(key).trim().split("\\s+");
+        String name = parts[0].toLowerCase(Locale.ROOT);
+        boolean descending = false;
+        if (name.startsWith("-")) {
+            name = name.substring(1);
+            descending = true;
+        }
+        if (parts.length == 2 && parts[1].matches("(?i)asc|desc")) {
+            descending = parts[1].equalsIgnoreCase("desc");
+        } else if (parts.length != 1) {
+            throw new InvalidQueryException("Invalid sort '" + key + "', expected e.g. \"salary desc\"");
+        }
+        if (!sortable.contains(name)) {
+            throw new InvalidQueryException("Cannot sort on '" + name + "', expected one of " + sortable);
+        }
+        return new SortKey(name, descending);
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
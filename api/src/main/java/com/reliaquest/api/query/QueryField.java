@@ -0,0 +1,72 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.exception.InvalidQueryException;
+import com.reliaquest.roster.ColumnarRoster;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/** Employee attributes a {@link com.reliaquest.api.model.RosterQuery} can filter, group and sort on. */
+enum QueryField {
+    ID,
+    NAME,
+    EMAIL,
+    TITLE,
+    SALARY,
+    AGE;
+
+    static QueryField of(String name) {
+        if (name != null) {
+            for (QueryField field : values()) {
+                if (field.label().equalsIgnoreCase(name.trim())) {
+                    return field;
+                }
+            }
+        }
+        throw new InvalidQueryException(
+                "Unknown field '" + name + "', expected one of id, name, email, title, salary, age");
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    boolean isNumeric() {
+        return this == SALARY || this == AGE;
+    }
+
+    /** Column of a numeric field; missing values read as {@link ColumnarRoster#NO_VALUE}. */
+    IntUnaryOperator column(ColumnarRoster roster) {
+        return switch (this) {
+            case SALARY -> roster::salary;
+            case AGE -> roster::age;
+            default -> throw new IllegalStateException(this + " is not numeric");
+        };
+    }
+
+    /** Rows ordered by this field, each compared as its own type; missing values sort last either way. */
+    Comparator<Integer> rowOrder(ColumnarRoster roster, boolean descending) {
+        return switch (this) {
+            case ID -> order(row -> roster.id(row).toString(), descending);
+            case NAME -> order(roster::name, descending);
+            case EMAIL -> order(roster::email, descending);
+            case TITLE -> order(roster::title, descending);
+            case SALARY, AGE -> {
+                IntUnaryOperator column = column(roster);
+                yield order(
+                        row -> {
+                            int value = column.applyAsInt(row);
+                            return value == ColumnarRoster.NO_VALUE ? null : value;
+                        },
+                        descending);
+            }
+        };
+    }
+
+    /** Orders by {@code key}, with {@code null} keys last in either direction. */
+    static <T, U extends Comparable<? super U>> Comparator<T> order(Function<T, U> key, boolean descending) {
+        Comparator<U> natural = Comparator.naturalOrder();
+        return Comparator.comparing(key, Comparator.nullsLast(descending ? natural.reversed() : natural));
+    }
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+/** How a query ran: the access path chosen, whether scans went parallel, and the rows and time of each step. */
+@Getter
+public class QueryPlan {
+
+    public record Step(String name, String detail, int rows, long micros) {}
+
+    private final int rosterSize;
+    private final String accessPath;
+    private final boolean parallel;
+    private final List<Step> steps = new ArrayList<>();
+    private long totalMicros;
+
+    QueryPlan(int rosterSize, String accessPath, boolean parallel) {
+        this.rosterSize = rosterSize;
+        this.accessPath = accessPath;
+        this.parallel = parallel;
+    }
+
+    /** Records a step that started at {@code startNanos} and produced {@code rows} rows. */
+    void step(String name, String detail, int rows, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        steps.add(new Step(name, detail, rows, micros));
+        totalMicros += micros;
+    }
+}
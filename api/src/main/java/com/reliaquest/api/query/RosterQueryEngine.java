@@ -0,0 +1,428 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.RosterQuery;
+import com.reliaquest.api.model.RosterQueryResult;
+import com.reliaquest.api.query.PreparedQuery.Aggregate;
+import com.reliaquest.api.query.PreparedQuery.Condition;
+import com.reliaquest.api.query.PreparedQuery.GroupKey;
+import com.reliaquest.api.query.PreparedQuery.SortKey;
+import com.reliaquest.api.service.RosterSnapshot;
+import com.reliaquest.roster.ColumnarRoster;
+import com.reliaquest.roster.NameIndex;
+import com.reliaquest.roster.TitleDictionary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link RosterQuery roster queries} against a {@link RosterSnapshot}'s columns. Id lookups and ranked name
+ * matches come from indexes; every other condition is compiled to a predicate over the int columns (titles compare
+ * dictionary codes, not strings) and the cheapest conditions are tested first. Scans and aggregations over at least
+ * {@code api.query.parallel-threshold} rows run as parallel streams.
+ */
+@Component
+public class RosterQueryEngine {
+
+    @Value("${api.query.parallel-threshold:100000}")
+    private int parallelThreshold = 100_000;
+
+    @Value("${api.query.default-limit:100}")
+    private int defaultLimit = 100;
+
+    @Value("${api.query.max-limit:1000}")
+    private int maxLimit = 1000;
+
+    /** Validates {@code query}; throws {@link com.reliaquest.api.exception.InvalidQueryException} if malformed. */
+    public PreparedQuery prepare(RosterQuery query) {
+        return PreparedQuery.of(query, defaultLimit, maxLimit);
+    }
+
+    public RosterQueryResult execute(RosterSnapshot snapshot, PreparedQuery query) {
+        ColumnarRoster roster = snapshot.roster();
+        int size = roster.size();
+        Condition driver = query.conditions().stream()
+                .filter(Condition::isIndexed)
+                .findFirst()
+                .orElse(null);
+        QueryPlan plan = new QueryPlan(
+                size, driver == null ? "column scan" : "index: " + driver, driver == null && size >= parallelThreshold);
+
+        long start = System.nanoTime();
+        List<Condition> residual = query.conditions().stream()
+                .filter(condition -> condition != driver)
+                .sorted(Comparator.comparingInt(Condition::cost))
+                .toList();
+        int[] candidates = null;
+        if (driver != null) {
+            candidates = rowsOf(snapshot, driver);
+            plan.step("access", driver.toString(), candidates.length, start);
+            start = System.nanoTime();
+        }
+        IntPredicate predicate = row -> true;
+        boolean unsatisfiable = false;
+        for (Condition condition : residual) {
+            IntPredicate test = compile(snapshot, condition);
+            if (test == null) {
+                unsatisfiable = true;
+                break;
+            }
+            predicate = predicate.and(test);
+        }
+        int[] rows;
+        if (unsatisfiable) {
+            rows = new int[0];
+        } else if (candidates != null) {
+            rows = residual.isEmpty()
+                    ? candidates
+                    : IntStream.of(candidates).filter(predicate).toArray();
+        } else {
+            IntStream scan = IntStream.range(0, size);
+            rows = (residual.isEmpty() ? scan : parallel(scan, size).filter(predicate)).toArray();
+        }
+        plan.step(
+                "filter",
+                unsatisfiable ? "no row can match " + residual : residual.isEmpty() ? "none" : residual.toString(),
+                rows.length,
+                start);
+
+        RosterQueryResult result = new RosterQueryResult();
+        result.setMatched(rows.length);
+        result.setPlan(plan);
+        if (query.isAggregation()) {
+            result.setGroups(groups(roster, query, rows, plan));
+        } else {
+            result.setEmployees(employees(snapshot, query, rows, plan));
+        }
+        return result;
+    }
+
+    private int[] rowsOf(RosterSnapshot snapshot, Condition condition) {
+        if (condition.field() == QueryField.ID) {
+            return condition.values().stream()
+                    .mapToInt(id -> snapshot.rowOf((String) id))
+                    .filter(row -> row >= 0)
+                    .distinct()
+                    .toArray();
+        }
+        return snapshot
+                .names()
+                .search(condition.textValue(0), Math.max(1, snapshot.roster().size()))
+                .stream()
+                .mapToInt(NameIndex.Hit::row)
+                .toArray();
+    }
+
+    /** Predicate for {@code condition}, or {@code null} when no row of this roster can satisfy it. */
+    private IntPredicate compile(RosterSnapshot snapshot, Condition condition) {
+        ColumnarRoster roster = snapshot.roster();
+        if (condition.isIndexed()) {
+            BitSet members = new BitSet(roster.size());
+            IntStream.of(rowsOf(snapshot, condition)).forEach(members::set);
+            return members.isEmpty() ? null : members::get;
+        }
+        return switch (condition.field()) {
+            case SALARY, AGE -> numeric(condition, condition.field().column(roster));
+            case TITLE -> title(condition, roster);
+            case NAME -> text(condition, roster::name);
+            case EMAIL -> text(condition, roster::email);
+            case ID -> throw new IllegalStateException("ids are indexed");
+        };
+    }
+
+    private static IntPredicate numeric(Condition condition, IntUnaryOperator column) {
+        int value = condition.intValue(0);
+        IntPredicate present = row -> column.applyAsInt(row) != ColumnarRoster.NO_VALUE;
+        return switch (condition.op()) {
+            case EQ -> value == ColumnarRoster.NO_VALUE ? null : row -> column.applyAsInt(row) == value;
+            case NE -> present.and(row -> column.applyAsInt(row) != value);
+            case LT -> present.and(row -> column.applyAsInt(row) < value);
+            case LTE -> present.and(row -> column.applyAsInt(row) <= value);
+            case GT -> row -> column.applyAsInt(row) > value;
+            case GTE -> present.and(row -> column.applyAsInt(row) >= value);
+            case BETWEEN -> {
+                int max = condition.intValue(1);
+                yield present.and(row -> {
+                    int v = column.applyAsInt(row);
+                    return v >= value && v <= max;
+                });
+            }
+            case IN -> {
+                int[] values = condition.values().stream()
+                        .mapToInt(v -> (Integer) v)
+                        .sorted()
+                        .toArray();
+                yield present.and(row -> Arrays.binarySearch(values, column.applyAsInt(row)) >= 0);
+            }
+            default -> throw new IllegalStateException(condition.toString());
+        };
+    }
+
+    /*
+     * Title conditions are decided once per distinct title; rows then only look up their code in the result.
+     */
+    private static IntPredicate title(Condition condition, ColumnarRoster roster) {
+        TitleDictionary titles = roster.titles();
+        boolean[] accepted = new boolean[titles.size()];
+        boolean any = false;
+        for (int code = 0; code < accepted.length; code++) {
+            accepted[code] = matchesText(condition, titles.decode(code));
+            any |= accepted[code];
+        }
+        if (!any) {
+            return null;
+        }
+        return row -> {
+            int code = roster.titleCode(row);
+            return code != TitleDictionary.NO_TITLE && accepted[code];
+        };
+    }
+
+    private static IntPredicate text(Condition condition, java.util.function.IntFunction<String> column) {
+        return row -> {
+            String value = column.apply(row);
+            return value != null && matchesText(condition, value);
+        };
+    }
+
+    private static boolean matchesText(Condition condition, String value) {
+        return switch (condition.op()) {
+            case EQ -> value.equalsIgnoreCase(condition.textValue(0));
+            case NE -> !value.equalsIgnoreCase(condition.textValue(0));
+            case IN -> condition.values().stream().anyMatch(v -> value.equalsIgnoreCase((String) v));
+            case CONTAINS -> value.toLowerCase(Locale.ROOT)
+                    .contains(condition.textValue(0).toLowerCase(Locale.ROOT));
+            default -> throw new IllegalStateException(condition.toString());
+        };
+    }
+
+    private List<EmployeeDTO> employees(RosterSnapshot snapshot, PreparedQuery query, int[] rows, QueryPlan plan) {
+        long start = System.nanoTime();
+        int[] selected;
+        if (query.sort().isEmpty()) {
+            selected = Arrays.copyOf(rows, Math.min(rows.length, query.limit()));
+        } else {
+            ColumnarRoster roster = snapshot.roster();
+            Comparator<Integer> order = null;
+            for (SortKey key : query.sort()) {
+                Comparator<Integer> next = QueryField.of(key.name()).rowOrder(roster, key.descending());
+                order = order == null ? next : order.thenComparing(next);
+            }
+            selected = parallel(IntStream.of(rows), rows.length)
+                    .boxed()
+                    .sorted(order)
+                    .limit(query.limit())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            plan.step("sort", query.sort().toString(), selected.length, start);
+            start = System.nanoTime();
+        }
+        List<EmployeeDTO> employees = new ArrayList<>(selected.length);
+        for (int row : selected) {
+            employees.add(snapshot.employee(row));
+        }
+        plan.step("project", "limit " + query.limit(), employees.size(), start);
+        return employees;
+    }
+
+    private List<RosterQueryResult.Group> groups(
+            ColumnarRoster roster, PreparedQuery query, int[] rows, QueryPlan plan) {
+        long start = System.nanoTime();
+        List<GroupKey> groupBy = query.groupBy();
+        List<Aggregate> aggregates = query.aggregates();
+        IntUnaryOperator[] keyColumns =
+                groupBy.stream().map(key -> keyColumn(roster, key)).toArray(IntUnaryOperator[]::new);
+        IntUnaryOperator[] columns = aggregates.stream()
+                .map(aggregate ->
+                        aggregate.field() == null ? null : aggregate.field().column(roster))
+                .toArray(IntUnaryOperator[]::new);
+        Map<Long, Accumulator> accumulators = parallel(IntStream.of(rows), rows.length)
+                .collect(
+                        HashMap::new,
+                        (groups, row) -> groups.computeIfAbsent(
+                                        packKey(keyColumns, row), key -> new Accumulator(columns.length))
+                                .add(columns, row),
+                        (left, right) -> right.forEach((key, value) -> left.merge(key, value, Accumulator::merge)));
+        if (groupBy.isEmpty() && accumulators.isEmpty()) {
+            accumulators.put(0L, new Accumulator(columns.length));
+        }
+        plan.step("aggregate", "group by " + groupBy + " computing " + labels(aggregates), accumulators.size(), start);
+
+        start = System.nanoTime();
+        List<RosterQueryResult.Group> groups = new ArrayList<>(accumulators.size());
+        accumulators.forEach((packed, accumulator) -> {
+            Map<String, Object> key = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                key.put(groupBy.get(i).field().label(), keyValue(roster, groupBy.get(i), unpackKey(packed, i)));
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < aggregates.size(); i++) {
+                values.put(aggregates.get(i).label(), accumulator.value(aggregates.get(i), i));
+            }
+            groups.add(new RosterQueryResult.Group(key, values));
+        });
+        Comparator<RosterQueryResult.Group> order = null;
+        List<SortKey> sort = new ArrayList<>(query.sort());
+        groupBy.forEach(key -> sort.add(new SortKey(key.field().label(), false)));
+        for (SortKey key : sort) {
+            Comparator<RosterQueryResult.Group> next = groupOrder(groupBy, aggregates, key);
+            order = order == null ? next : order.thenComparing(next);
+        }
+        if (order != null) {
+            groups.sort(order);
+        }
+        List<RosterQueryResult.Group> limited = groups.subList(0, Math.min(groups.size(), query.limit()));
+        plan.step("sort", sort.isEmpty() ? "none" : sort.toString(), limited.size(), start);
+        return new ArrayList<>(limited);
+    }
+
+    private static IntUnaryOperator keyColumn(ColumnarRoster roster, GroupKey key) {
+        if (key.field() == QueryField.TITLE) {
+            return roster::titleCode;
+        }
+        IntUnaryOperator column = key.field().column(roster);
+        int bucket = key.bucket();
+        return row -> {
+            int value = column.applyAsInt(row);
+            return value == ColumnarRoster.NO_VALUE ? value : Math.floorDiv(value, bucket) * bucket;
+        };
+    }
+
+    private static long packKey(IntUnaryOperator[] keyColumns, int row) {
+        long packed = 0;
+        for (int i = 0; i < keyColumns.length; i++) {
+            packed |= (keyColumns[i].applyAsInt(row) & 0xFFFF_FFFFL) << (32 * (1 - i));
+        }
+        return packed;
+    }
+
+    private static int unpackKey(long packed, int i) {
+        return (int) (packed >>> (32 * (1 - i)));
+    }
+
+    private static Object keyValue(ColumnarRoster roster, GroupKey key, int value) {
+        if (key.field() == QueryField.TITLE) {
+            return roster.titles().decode(value);
+        }
+        if (value == ColumnarRoster.NO_VALUE) {
+            return null;
+        }
+        return key.bucket() > 1 ? value + "-" + (value + key.bucket() - 1) : value;
+    }
+
+    /*
+     * Each sortable column of a group has one type: titles are strings, numeric keys integers (bucket labels like
+     * "30-39" sort by their lower bound rather than as text), counts and sums longs, averages doubles, and min and
+     * max integers.
+     */
+    private static Comparator<RosterQueryResult.Group> groupOrder(
+            List<GroupKey> groupBy, List<Aggregate> aggregates, SortKey key) {
+        String name = key.name();
+        boolean descending = key.descending();
+        for (GroupKey groupKey : groupBy) {
+            if (groupKey.field().label().equals(name)) {
+                return groupKey.field() == QueryField.TITLE
+                        ? QueryField.order(group -> (String) group.getKey().get(name), descending)
+                        : QueryField.order(group -> lowerBound(group.getKey().get(name)), descending);
+            }
+        }
+        Aggregate aggregate = aggregates.stream()
+                .filter(candidate -> candidate.label().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("not sortable: " + name));
+        return switch (aggregate.fn()) {
+            case COUNT, SUM -> QueryField.order(
+                    group -> (Long) group.getValues().get(name), descending);
+            case AVG -> QueryField.order(group -> (Double) group.getValues().get(name), descending);
+            case MIN, MAX -> QueryField.order(
+                    group -> (Integer) group.getValues().get(name), descending);
+        };
+    }
+
+    private static Integer lowerBound(Object key) {
+        if (key instanceof String label) {
+            return Integer.parseInt(label.substring(0, label.indexOf('-', 1)));
+        }
+        return (Integer) key;
+    }
+
+    private static String labels(List<Aggregate> aggregates) {
+        return aggregates.stream().map(Aggregate::label).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private IntStream parallel(IntStream rows, int size) {
+        return size >= parallelThreshold ? rows.parallel() : rows;
+    }
+
+    /** Running count, sum, min and max per aggregate; partial results from parallel chunks are merged. */
+    private static final class Accumulator {
+
+        private long rows;
+        private final long[] counts;
+        private final long[] sums;
+        private final int[] mins;
+        private final int[] maxs;
+
+        Accumulator(int aggregates) {
+            counts = new long[aggregates];
+            sums = new long[aggregates];
+            mins = new int[aggregates];
+            maxs = new int[aggregates];
+            Arrays.fill(mins, Integer.MAX_VALUE);
+            Arrays.fill(maxs, Integer.MIN_VALUE);
+        }
+
+        void add(IntUnaryOperator[] columns, int row) {
+            rows++;
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] == null) {
+                    continue;
+                }
+                int value = columns[i].applyAsInt(row);
+                if (value != ColumnarRoster.NO_VALUE) {
+                    counts[i]++;
+                    sums[i] += value;
+                    mins[i] = Math.min(mins[i], value);
+                    maxs[i] = Math.max(maxs[i], value);
+                }
+            }
+        }
+
+        Accumulator merge(Accumulator other) {
+            rows += other.rows;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                sums[i] += other.sums[i];
+                mins[i] = Math.min(mins[i], other.mins[i]);
+                maxs[i] = Math.max(maxs[i], other.maxs[i]);
+            }
+            return this;
+        }
+
+        Object value(Aggregate aggregate, int i) {
+            if (aggregate.field() == null) {
+                return rows;
+            }
+            long count = counts[i];
+            return switch (aggregate.fn()) {
+                case COUNT -> count;
+                case SUM -> sums[i];
+                case AVG -> count == 0 ? null : (double) sums[i] / count;
+                case MIN -> count == 0 ? null : mins[i];
+                case MAX -> count == 0 ? null : maxs[i];
+            };
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.client.EmployeeOperation;
 import com.reliaquest.api.client.EmployeeWebClient;
+import com.reliaquest.api.exception.EmployeeCreationException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.InvalidQueryException;
 import com.reliaquest.api.model.EmployeeDTO;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.RosterQuery;
+import com.reliaquest.api.model.RosterQueryResult;
+import com.reliaquest.api.model.SalaryHistogram;
+import com.reliaquest.api.model.SalaryPercentiles;
+import com.reliaquest.api.query.RosterQueryEngine;
+import com.reliaquest.api.state.SharedStateStore;
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Service
@@ -22,19 +33,53 @@ public class EmployeeService {
     @Autowired
     private final EmployeeWebClient client;
 
-    private final ConcurrentHashMap<String, EmployeeDTO> idempotencyMap = new ConcurrentHashMap<>();
+    @Autowired
+    private final SharedStateStore sharedState;
+
+    @Autowired
+    private final RosterSnapshotService rosterSnapshots;
+
+    @Autowired
+    private final RosterQueryEngine queryEngine;
+
+    @Autowired
+    private final SalaryStatistics salaryStatistics;
+
+    @Value("${api.search.limit:50}")
+    private int searchLimit;
+
+    @Value("${api.search.every-match:false}")
+    private boolean searchEveryMatch;
+
+    /*
+     * Idempotency keys live in the shared state so a retried create is recognised by whichever replica receives it.
+     * A key is claimed with IN_FLIGHT before the upstream call, so of two concurrent creates with one key only one
+     * reaches upstream; the claim expires after idempotencyClaimTtl should its replica die before answering.
+     */
+    private static final String IDEMPOTENCY = "idempotency";
+
+    private static final String IN_FLIGHT = "in-flight";
+
+    @Value("${api.shared-state.idempotency-ttl:24h}")
+    private Duration idempotencyTtl;
+
+    @Value("${api.shared-state.idempotency-claim-ttl:30s}")
+    private Duration idempotencyClaimTtl;
 
     public Mono<List<EmployeeDTO>> getAllEmployees() {
         log.info("List getAllEmployees: ");
         return client.getAllEmployees();
     }
 
+    /*
+     * The best searchLimit matches from the roster snapshot's name index: exact, prefix, infix and typo-tolerant
+     * matches of every word in the fragment, topped up to searchLimit with names containing it. searchEveryMatch
+     * lists every name containing the fragment after the ranked ones, as before the index, at the cost of a scan.
+     */
     public Mono<List<EmployeeDTO>> getEmployeesByNameSearch(String fragment) {
-        return client.getAllEmployees()
-                .map(list -> list.stream()
-                        .filter(e ->
-                                e.getName() != null && e.getName().toLowerCase().contains(fragment.toLowerCase()))
-                        .collect(Collectors.toList()))
+        return client.getAllEmployees(EmployeeOperation.SEARCH)
+                .flatMap(rosterSnapshots::snapshotOf)
+                .map(snapshot -> snapshot.search(fragment, searchLimit, searchEveryMatch))
                 .flatMap(filteredList -> {
                     if (filteredList.isEmpty()) {
                         return Mono.error(new EmployeeNotFoundException(
@@ -44,46 +89,96 @@ public class EmployeeService {
                 });
     }
 
+    /*
+     * The query is validated before the roster is fetched; execution scans the snapshot's columns off the HTTP client
+     * threads since large scans fan out over the common fork-join pool.
+     */
+    public Mono<RosterQueryResult> query(RosterQuery query) {
+        return Mono.fromCallable(() -> queryEngine.prepare(query))
+                .flatMap(prepared -> client.getAllEmployees(EmployeeOperation.AGGREGATE)
+                        .flatMap(rosterSnapshots::snapshotOf)
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(snapshot -> queryEngine.execute(snapshot, prepared)))
+                .doOnNext(result -> log.info(
+                        "Query matched {} of {} employees in {} us",
+                        result.getMatched(),
+                        result.getPlan().getRosterSize(),
+                        result.getPlan().getTotalMicros()));
+    }
+
     public Mono<EmployeeDTO> getEmployeeById(String id) {
         log.info("List getEmployeeById: ");
         return client.getEmployeeById(id);
     }
 
-    public Integer getHighestSalaryOfEmployees() {
+    public Mono<Integer> getHighestSalaryOfEmployees() {
         log.info("List getHighestSalaryOfEmployees: ");
-        List<EmployeeDTO> employees = client.getAllEmployees().block(); // unwrap List<EmployeeDTO>
-        log.info("List size: ", employees.size());
-        Integer sal = employees.stream()
-                .map(EmployeeDTO::getSalary)
-                .max(Integer::compareTo)
-                .orElseThrow(() -> new EmployeeNotFoundException(HttpStatus.NOT_FOUND, "No salaries found"));
-        log.info("Highest Salary: ", sal);
-        return sal;
+        return client.getHighestSalary()
+                .flatMap(max -> max.isPresent()
+                        ? Mono.just(max.getAsInt())
+                        : Mono.error(new EmployeeNotFoundException(HttpStatus.NOT_FOUND, "No salaries found")))
+                .doOnNext(sal -> log.info("Highest Salary: {}", sal));
     }
 
-    public List<String> getTop10HighestEarningEmployeeNames() {
-        List<EmployeeDTO> employees = client.getAllEmployees().block();
-        return employees.stream()
-                .sorted(Comparator.comparing(EmployeeDTO::getSalary, Comparator.reverseOrder()))
-                .limit(10)
-                .map(EmployeeDTO::getName)
-                .toList();
+    public Mono<List<String>> getTop10HighestEarningEmployeeNames() {
+        return client.getTopEarnerNames(10);
+    }
+
+    /*
+     * Salary statistics are answered from incrementally maintained state; the roster read (usually the shared cached
+     * copy) only reconciles employees that changed since the last one.
+     */
+    public Mono<SalaryPercentiles> getSalaryPercentiles(List<Double> percentiles) {
+        List<Double> requested =
+                percentiles == null || percentiles.isEmpty() ? SalaryDistribution.DEFAULT_PERCENTILES : percentiles;
+        for (double p : requested) {
+            if (!(p > 0 && p <= 100)) {
+                return Mono.error(new InvalidQueryException("Percentiles must lie in (0, 100], got " + p));
+            }
+        }
+        return salaryDistribution().map(distribution -> distribution.percentiles(requested));
+    }
+
+    public Mono<SalaryHistogram> getSalaryHistogram() {
+        return salaryDistribution().map(SalaryDistribution::histogram);
+    }
+
+    private Mono<SalaryDistribution> salaryDistribution() {
+        return client.readRoster(EmployeeOperation.AGGREGATE).map(salaryStatistics::observe);
     }
 
     public Mono<EmployeeDTO> createEmployee(String idempotencyKey, EmployeeInput req) {
-        // idempotency check
-        if (idempotencyKey != null) {
-            EmployeeDTO cached = idempotencyMap.get(idempotencyKey);
-            if (cached != null) {
+        if (idempotencyKey == null) {
+            return create(null, req);
+        }
+        return Mono.defer(() -> {
+            Serializable claimed =
+                    sharedState.<Serializable>putIfAbsent(IDEMPOTENCY, idempotencyKey, IN_FLIGHT, idempotencyClaimTtl);
+            if (claimed instanceof EmployeeDTO cached) {
                 log.info("Idempotency hit for key={}", idempotencyKey);
                 return Mono.just(cached);
             }
-        }
+            if (claimed != null) {
+                return Mono.error(new EmployeeCreationException(
+                        HttpStatus.CONFLICT, "A create with idempotency key " + idempotencyKey + " is in progress"));
+            }
+            return create(idempotencyKey, req).doOnCancel(() -> sharedState.remove(IDEMPOTENCY, idempotencyKey));
+        });
+    }
 
+    /*
+     * Only a real create is kept under the key; the claim behind a fallback is released so a retry can create.
+     */
+    private Mono<EmployeeDTO> create(String idempotencyKey, EmployeeInput req) {
         return client.createEmployee(req, idempotencyKey)
                 .doOnSubscribe(s -> log.debug("Calling mock server to create employee: {}", req))
+                .doOnNext(salaryStatistics::added)
+                .doOnNext(created -> {
+                    if (idempotencyKey != null) sharedState.put(IDEMPOTENCY, idempotencyKey, created, idempotencyTtl);
+                })
                 .onErrorResume(ex -> {
                     log.error("Create employee failed after retries: {}", ex.toString());
+                    if (idempotencyKey != null) sharedState.remove(IDEMPOTENCY, idempotencyKey);
                     EmployeeDTO fallback = new EmployeeDTO();
                     fallback.setId("fallback-" + UUID.randomUUID());
                     fallback.setName(req.getName() + " (pending)");
@@ -97,19 +192,18 @@ public class EmployeeService {
                             "Employee created (or fallback returned) id={}, name={}",
                             created.getId(),
                             created.getName());
-                    if (idempotencyKey != null) idempotencyMap.put(idempotencyKey, created);
                 });
     }
 
     public Mono<String> deleteEmployeeById(String id) {
         log.info("Inside deleteEmployeeById: ");
-        EmployeeDTO empDTO = client.getEmployeeById(id).block();
-        return client.deleteEmployeeByName(empDTO)
+        return client.getEmployeeById(id).flatMap(empDTO -> client.deleteEmployeeByName(empDTO)
                 .doOnError(err -> log.error("❌ Error in deleteEmployeeById pipeline", err))
                 .doOnSuccess(name -> log.info("Pipeline completed, returning {}", name))
                 .flatMap(success -> {
                     if (!success) return Mono.error(new RuntimeException("Delete returned false"));
+                    salaryStatistics.removed(empDTO.getId());
                     return Mono.just(empDTO.getName());
-                });
+                }));
     }
 }
@@ -0,0 +1,159 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeWebClient;
+import com.reliaquest.api.client.RosterRead;
+import com.reliaquest.api.model.EmployeeDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Warm start for the roster. The last good roster is checkpointed to {@code api.checkpoint.file} every
+ * {@code interval} when it changed, and on shutdown. On startup a checkpoint is mapped and served at once, as the fresh
+ * roster for {@code warm-ttl} and as the last good one after that, so the first requests neither wait on upstream nor
+ * fall back when it is rate limiting. The roster snapshot and salary statistics are then rebuilt from it, and the
+ * roster is reconciled with upstream, in the background. A checkpoint older than {@code max-age} is ignored: after a
+ * long outage the first requests are better off waiting on upstream than being served a roster that old.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RosterCheckpoint {
+
+    @Autowired
+    private final EmployeeWebClient client;
+
+    @Autowired
+    private final RosterSnapshotService rosterSnapshots;
+
+    @Autowired
+    private final SalaryStatistics salaryStatistics;
+
+    @Value("${api.checkpoint.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.checkpoint.file:${java.io.tmpdir}/roster-checkpoint.bin}")
+    private Path file;
+
+    @Value("${api.checkpoint.max-age:1h}")
+    private Duration maxAge;
+
+    @Value("${api.checkpoint.interval:30s}")
+    private Duration interval;
+
+    @Value("${api.checkpoint.warm-ttl:30s}")
+    private Duration warmTtl;
+
+    private RosterCheckpointFile checkpointFile;
+    private Disposable checkpoints;
+    private int writtenSize = -1;
+    private int writtenFingerprint;
+
+    @PostConstruct
+    void restore() {
+        if (!enabled) {
+            return;
+        }
+        checkpointFile = new RosterCheckpointFile(file);
+        long started = System.nanoTime();
+        try {
+            checkpointFile.read().ifPresent(checkpoint -> {
+                Duration age = Duration.between(checkpoint.savedAt(), Instant.now());
+                if (age.compareTo(maxAge) > 0) {
+                    log.info("Ignoring roster checkpoint saved at {}, older than {}", checkpoint.savedAt(), maxAge);
+                    return;
+                }
+                List<EmployeeDTO> roster = checkpoint.roster();
+                client.warmStart(roster, warmTtl);
+                remember(roster);
+                log.info(
+                        "Restored {} employees checkpointed at {} from {} in {} ms",
+                        roster.size(),
+                        checkpoint.savedAt(),
+                        file,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                reconcile(roster).subscribe(null, ex -> log.warn("Roster reconcile failed: {}", ex.toString()));
+            });
+        } catch (IOException e) {
+            log.warn("Ignoring roster checkpoint: {}", e.toString());
+        }
+        checkpoints = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::checkpoint)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(ex -> {
+                            log.warn("Roster checkpoint failed: {}", ex.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void close() {
+        if (checkpoints != null) {
+            checkpoints.dispose();
+            checkpoint();
+        }
+    }
+
+    /** Writes the last good roster if it changed since the last checkpoint. */
+    synchronized void checkpoint() {
+        client.lastGoodRoster()
+                .filter(roster -> roster.size() != writtenSize || roster.hashCode() != writtenFingerprint)
+                .ifPresent(roster -> {
+                    long started = System.nanoTime();
+                    try {
+                        checkpointFile.write(roster, Instant.now());
+                        remember(roster);
+                        log.debug(
+                                "Checkpointed {} employees to {} in {} ms",
+                                roster.size(),
+                                file,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                    } catch (IOException | IllegalArgumentException e) {
+                        log.warn("Could not checkpoint the roster to {}: {}", file, e.toString());
+                    }
+                });
+    }
+
+    private synchronized void remember(List<EmployeeDTO> roster) {
+        writtenSize = roster.size();
+        writtenFingerprint = roster.hashCode();
+    }
+
+    /*
+     * Index the restored roster first so the first searches and statistics find them built, then read upstream and
+     * bring both up to date; a failed read leaves the checkpoint in place as the last good roster.
+     */
+    Mono<RosterSnapshot> reconcile(List<EmployeeDTO> restored) {
+        return Mono.just(restored)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(salaryStatistics::observe)
+                .flatMap(rosterSnapshots::snapshotOf)
+                .then(client.refreshRoster())
+                .filter(RosterRead::authoritative)
+                .map(RosterRead::employees)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(salaryStatistics::observe)
+                .flatMap(rosterSnapshots::snapshotOf)
+                .doOnNext(snapshot -> log.info(
+                        "Reconciled checkpointed roster with upstream: {} employees",
+                        snapshot.source().size()))
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> log.warn("Upstream roster unavailable, serving the checkpoint until it is read")));
+    }
+}
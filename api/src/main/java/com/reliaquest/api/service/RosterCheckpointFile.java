@@ -0,0 +1,249 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.roster.ColumnarRoster;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Binary checkpoint of a roster, laid out column by column like {@link ColumnarRoster}: ids as two {@code long}s,
+ * salaries and ages as {@code int}s ({@link ColumnarRoster#NO_VALUE} for missing ones), titles as codes into a
+ * dictionary, then names and emails as lengths followed by UTF-8 bytes. A CRC-32 trailer rejects torn or foreign
+ * files. Reading maps the file instead of streaming it; writing goes to a temporary file that replaces the old one
+ * atomically, so readers see either checkpoint whole.
+ */
+public class RosterCheckpointFile {
+
+    private static final int MAGIC = 0x52435031; // "RCP1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final int NULL_LENGTH = -1;
+    private static final int NO_TITLE = -1;
+
+    public record Checkpoint(Instant savedAt, List<EmployeeDTO> roster) {}
+
+    private final Path file;
+
+    public RosterCheckpointFile(Path file) {
+        this.file = file;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * @throws IllegalArgumentException if an id is not a canonical UUID, which the format cannot hold
+     */
+    public void write(List<EmployeeDTO> roster, Instant savedAt) throws IOException {
+        int rows = roster.size();
+        long[] msbs = new long[rows];
+        long[] lsbs = new long[rows];
+        int[] titleCodes = new int[rows];
+        byte[][] names = new byte[rows][];
+        byte[][] emails = new byte[rows][];
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> titles = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            EmployeeDTO employee = roster.get(row);
+            UUID id = UUID.fromString(employee.getId());
+            if (!id.toString().equals(employee.getId())) {
+                throw new IllegalArgumentException("Not a canonical UUID: " + employee.getId());
+            }
+            msbs[row] = id.getMostSignificantBits();
+            lsbs[row] = id.getLeastSignificantBits();
+            titleCodes[row] = employee.getTitle() == null
+                    ? NO_TITLE
+                    : codes.computeIfAbsent(employee.getTitle(), title -> {
+                        titles.add(utf8(title));
+                        return titles.size() - 1;
+                    });
+            names[row] = utf8(employee.getName());
+            emails[row] = utf8(employee.getEmail());
+        }
+
+        byte[][] titleBytes = titles.toArray(byte[][]::new);
+        ByteBuffer buffer = ByteBuffer.allocate(
+                HEADER_BYTES + rows * (8 + 8 + 4 + 4 + 4) + sizeOf(titleBytes) + sizeOf(names) + sizeOf(emails) + 4);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(savedAt.toEpochMilli());
+        buffer.putInt(rows).putInt(titles.size());
+        putLongs(buffer, msbs);
+        putLongs(buffer, lsbs);
+        putInts(buffer, roster.stream().mapToInt(e -> orNoValue(e.getSalary())).toArray());
+        putInts(buffer, roster.stream().mapToInt(e -> orNoValue(e.getAge())).toArray());
+        putInts(buffer, titleCodes);
+        putStrings(buffer, titleBytes);
+        putStrings(buffer, names);
+        putStrings(buffer, emails);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return the checkpoint, or empty when there is none
+     * @throws IOException if the file cannot be read or is not a valid checkpoint
+     */
+    public Optional<Checkpoint> read() throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a roster checkpoint (" + size + " bytes): " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - 4));
+            if (buffer.getInt() != MAGIC
+                    || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getInt((int) size - 4) != (int) crc.getValue()) {
+                throw new IOException("Not a roster checkpoint, or a corrupt one: " + file);
+            }
+            return Optional.of(decode(buffer));
+        } catch (RuntimeException e) {
+            // lengths that passed the checksum but still run off the buffer
+            throw new IOException("Corrupt roster checkpoint: " + file, e);
+        }
+    }
+
+    private static Checkpoint decode(ByteBuffer buffer) {
+        Instant savedAt = Instant.ofEpochMilli(buffer.getLong());
+        int rows = buffer.getInt();
+        int titleCount = buffer.getInt();
+        if (rows < 0 || titleCount < 0 || (long) rows * (8 + 8 + 4 + 4 + 4) + titleCount * 4L > buffer.remaining()) {
+            throw new IllegalStateException(rows + " rows and " + titleCount + " titles do not fit the file");
+        }
+        long[] msbs = getLongs(buffer, rows);
+        long[] lsbs = getLongs(buffer, rows);
+        int[] salaries = getInts(buffer, rows);
+        int[] ages = getInts(buffer, rows);
+        int[] titleCodes = getInts(buffer, rows);
+        String[] titles = getStrings(buffer, titleCount);
+        String[] names = getStrings(buffer, rows);
+        String[] emails = getStrings(buffer, rows);
+
+        List<EmployeeDTO> roster = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            roster.add(new EmployeeDTO(
+                    new UUID(msbs[row], lsbs[row]).toString(),
+                    names[row],
+                    orNull(salaries[row]),
+                    orNull(ages[row]),
+                    titleCodes[row] == NO_TITLE ? null : titles[titleCodes[row]],
+                    emails[row]));
+        }
+        return new Checkpoint(savedAt, roster);
+    }
+
+    private static int sizeOf(byte[][] values) {
+        int size = values.length * 4;
+        for (byte[] value : values) {
+            size += value == null ? 0 : value.length;
+        }
+        return size;
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values) {
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    private static long[] getLongs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static void putStrings(ByteBuffer buffer, byte[][] values) {
+        putInts(
+                buffer,
+                Arrays.stream(values)
+                        .mapToInt(value -> value == null ? NULL_LENGTH : value.length)
+                        .toArray());
+        for (byte[] value : values) {
+            if (value != null) {
+                buffer.put(value);
+            }
+        }
+    }
+
+    /*
+     * One bulk copy out of the mapping per column, then strings decoded from that arena.
+     */
+    private static String[] getStrings(ByteBuffer buffer, int count) {
+        int[] lengths = getInts(buffer, count);
+        int total = 0;
+        for (int length : lengths) {
+            total += Math.max(0, length);
+        }
+        byte[] arena = new byte[total];
+        buffer.get(arena);
+        String[] values = new String[count];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] != NULL_LENGTH) {
+                values[i] = new String(arena, offset, lengths[i], StandardCharsets.UTF_8);
+                offset += lengths[i];
+            }
+        }
+        return values;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int orNoValue(Integer value) {
+        return value == null ? ColumnarRoster.NO_VALUE : value;
+    }
+
+    private static Integer orNull(int value) {
+        return value == ColumnarRoster.NO_VALUE ? null : value;
+    }
+}
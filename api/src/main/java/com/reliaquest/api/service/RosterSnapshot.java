@@ -0,0 +1,113 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.roster.ColumnarRoster;
+import com.reliaquest.roster.NameIndex;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable view of one roster read from upstream: the employees as columns plus a {@link NameIndex} over their
+ * names. {@code sourceRows} maps each columnar row back to its position in {@code source}, so results are the
+ * upstream objects themselves. A snapshot belongs to the list instance it was built from; every roster read from
+ * upstream is a new list, so a new read gets a new snapshot without comparing contents.
+ */
+public record RosterSnapshot(List<EmployeeDTO> source, ColumnarRoster roster, int[] sourceRows, NameIndex names) {
+
+    public static RosterSnapshot of(List<EmployeeDTO> employees) {
+        ColumnarRoster roster = new ColumnarRoster(employees.size());
+        int[] sourceRows = new int[employees.size()];
+        for (int i = 0; i < employees.size(); i++) {
+            EmployeeDTO employee = employees.get(i);
+            int row = roster.add(
+                    idOf(employee.getId()),
+                    employee.getName(),
+                    employee.getSalary(),
+                    employee.getAge(),
+                    employee.getTitle(),
+                    employee.getEmail());
+            sourceRows[row] = i;
+        }
+        return new RosterSnapshot(employees, roster, sourceRows, NameIndex.of(roster));
+    }
+
+    /** Whether this snapshot was built from {@code employees}, the very same list. */
+    public boolean isOf(List<EmployeeDTO> employees) {
+        return employees == source;
+    }
+
+    /** Row of the employee with upstream id {@code id}, or {@code -1}. */
+    public int rowOf(String id) {
+        return roster.indexOf(idOf(id));
+    }
+
+    public EmployeeDTO employee(int row) {
+        return source.get(sourceRows[row]);
+    }
+
+    /**
+     * The {@code limit} best ranked matches of {@code fragment}, typos included, then other employees whose name
+     * contains it, in roster order, up to {@code limit} in all; with {@code everyMatch} every one of them follows.
+     * Names are compared the way the index folds them, so "jose" finds "José".
+     */
+    public List<EmployeeDTO> search(String fragment, int limit, boolean everyMatch) {
+        List<EmployeeDTO> found = new ArrayList<>();
+        BitSet listed = new BitSet(roster.size());
+        for (NameIndex.Hit hit : names.search(fragment, limit)) {
+            found.add(employee(hit.row()));
+            listed.set(hit.row());
+        }
+        containing(fragment, listed, everyMatch ? Integer.MAX_VALUE : limit - found.size()).stream()
+                .forEach(row -> found.add(employee(row)));
+        return found;
+    }
+
+    /*
+     * Up to max rows not yet listed whose name contains the fragment. A single word of three or more characters lies
+     * within one name term, so the index finds every name containing it; a shorter fragment or one spanning words is
+     * scanned for, and the scan stops at max.
+     */
+    private BitSet containing(String fragment, BitSet listed, int max) {
+        BitSet rows = new BitSet(roster.size());
+        if (max <= 0) {
+            return rows;
+        }
+        List<String> tokens = NameIndex.tokenize(fragment);
+        if (tokens.size() == 1
+                && tokens.get(0).length() >= 3
+                && fragment.codePoints().allMatch(Character::isLetterOrDigit)) {
+            BitSet indexed = names.rowsContaining(tokens.get(0));
+            indexed.andNot(listed);
+            int added = 0;
+            for (int row = indexed.nextSetBit(0); row >= 0 && added < max; row = indexed.nextSetBit(row + 1)) {
+                rows.set(row);
+                added++;
+            }
+            return rows;
+        }
+        String needle = NameIndex.fold(fragment);
+        int added = 0;
+        for (int row = 0; row < roster.size() && added < max; row++) {
+            String name = roster.name(row);
+            if (!listed.get(row) && name != null && NameIndex.fold(name).contains(needle)) {
+                rows.set(row);
+                added++;
+            }
+        }
+        return rows;
+    }
+
+    /*
+     * Upstream ids are UUIDs; anything else (such as the fallback employee) gets a stable name-based stand-in.
+     */
+    private static UUID idOf(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return UUID.nameUUIDFromBytes(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
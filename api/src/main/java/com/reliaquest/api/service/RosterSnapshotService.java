@@ -0,0 +1,44 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps the {@link RosterSnapshot} of the latest roster, rebuilding it only when the roster content changes. Builds run
+ * on the bounded-elastic scheduler, off the HTTP client's event loop.
+ */
+@Slf4j
+@Service
+public class RosterSnapshotService {
+
+    private volatile RosterSnapshot current;
+
+    public Mono<RosterSnapshot> snapshotOf(List<EmployeeDTO> employees) {
+        RosterSnapshot snapshot = current;
+        if (snapshot != null && snapshot.isOf(employees)) {
+            return Mono.just(snapshot);
+        }
+        return Mono.fromCallable(() -> build(employees)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized RosterSnapshot build(List<EmployeeDTO> employees) {
+        RosterSnapshot snapshot = current;
+        if (snapshot != null && snapshot.isOf(employees)) {
+            return snapshot;
+        }
+        long started = System.nanoTime();
+        snapshot = RosterSnapshot.of(employees);
+        current = snapshot;
+        log.info(
+                "Built roster snapshot of {} employees ({} name terms) in {} ms",
+                employees.size(),
+                snapshot.names().terms(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return snapshot;
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.SalaryHistogram;
+import com.reliaquest.api.model.SalaryPercentiles;
+import com.reliaquest.roster.KllSketch;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published, immutable state of {@link SalaryStatistics}. Percentiles come from the sketch's sorted values with their
+ * cumulative weights (removals subtracted), so each lookup is a binary search over the values the sketch retains:
+ * about {@code 3 * k}, some 600 at the default {@code k = 200}, however large the roster. The default percentiles and
+ * the histogram are rendered once when the distribution is published.
+ */
+public final class SalaryDistribution {
+
+    static final List<Double> DEFAULT_PERCENTILES = List.of(50.0, 90.0, 99.0);
+
+    private final long count;
+    private final int[] values;
+    private final long[] ranks;
+    private final SalaryPercentiles defaultPercentiles;
+    private final SalaryHistogram histogram;
+
+    SalaryDistribution(
+            long count, KllSketch.SortedView added, KllSketch.SortedView removed, SalaryHistogram histogram) {
+        this.count = count;
+        this.values = added.values();
+        this.ranks = new long[values.length];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            long rank = added.cumulativeWeights()[i] - removed.rank(values[i]);
+            previous = Math.min(count, Math.max(previous, rank));
+            ranks[i] = previous;
+        }
+        this.histogram = histogram;
+        this.defaultPercentiles = render(DEFAULT_PERCENTILES);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Salary at percentile {@code p} in {@code (0, 100]}, or {@code null} when no employee has a salary. */
+    public Integer percentile(double p) {
+        if (count == 0 || values.length == 0) {
+            return null;
+        }
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        int low = 0;
+        int high = values.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ranks[mid] >= target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return values[low];
+    }
+
+    public SalaryPercentiles percentiles(List<Double> percentiles) {
+        return percentiles.equals(DEFAULT_PERCENTILES) ? defaultPercentiles : render(percentiles);
+    }
+
+    public SalaryHistogram histogram() {
+        return histogram;
+    }
+
+    private SalaryPercentiles render(List<Double> percentiles) {
+        Map<String, Integer> values = new LinkedHashMap<>();
+        for (double p : percentiles) {
+            values.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(), percentile(p));
+        }
+        return new SalaryPercentiles(count, values);
+    }
+
+    static SalaryHistogram histogram(long count, int bucketWidth, long[] counts) {
+        List<SalaryHistogram.Bucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            int from = i * bucketWidth;
+            Integer to = i == counts.length - 1 ? null : from + bucketWidth - 1;
+            buckets.add(new SalaryHistogram.Bucket(from, to, counts[i]));
+        }
+        return new SalaryHistogram(count, bucketWidth, buckets);
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.RosterRead;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.roster.KllSketch;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Salary percentiles and histogram maintained incrementally rather than recomputed from the roster per request.
+ *
+ * <p>Created and deleted employees are applied as they happen; a roster read from upstream is diffed against the
+ * salaries already counted, so only changed employees touch the statistics. Percentiles come from a pair of KLL
+ * sketches, one of added and one of removed salaries (KLL cannot forget a value), and the histogram holds exact counts
+ * in fixed-width buckets. Once removals reach a quarter of the live count the sketches are rebuilt from the known
+ * salaries, which keeps the subtraction's error bounded.
+ *
+ * <p>Readers get the last published {@link SalaryDistribution}; it is rebuilt at most once per change, on the first
+ * read after it.
+ */
+@Slf4j
+@Service
+public class SalaryStatistics {
+
+    @Value("${api.salary-stats.sketch-k:200}")
+    private int sketchK = 200;
+
+    @Value("${api.salary-stats.bucket-width:25000}")
+    private int bucketWidth = 25_000;
+
+    @Value("${api.salary-stats.buckets:40}")
+    private int bucketCount = 40;
+
+    private final Map<String, Integer> salaries = new HashMap<>();
+    private KllSketch added;
+    private KllSketch removed;
+    private long[] buckets;
+    private List<EmployeeDTO> observed;
+    private volatile SalaryDistribution published;
+
+    /**
+     * Brings the statistics up to date with {@code read} if it is authoritative, and returns them. Any other roster
+     * may lack whole shards or predate writes already applied, so reconciling with it would roll them back.
+     */
+    public SalaryDistribution observe(RosterRead read) {
+        return read.authoritative() ? observe(read.employees()) : current();
+    }
+
+    /** Brings the statistics up to date with {@code roster}, trusted to be the whole roster, and returns them. */
+    public SalaryDistribution observe(List<EmployeeDTO> roster) {
+        if (roster != observed) {
+            synchronized (this) {
+                reconcile(roster);
+            }
+        }
+        return current();
+    }
+
+    public synchronized void added(EmployeeDTO employee) {
+        if (employee.getId() != null && employee.getSalary() != null) {
+            Integer previous = salaries.put(employee.getId(), employee.getSalary());
+            if (previous != null) {
+                remove(previous);
+            }
+            add(employee.getSalary());
+            compactIfNeeded();
+        }
+    }
+
+    public synchronized void removed(String id) {
+        Integer salary = salaries.remove(id);
+        if (salary != null) {
+            remove(salary);
+            compactIfNeeded();
+        }
+    }
+
+    public SalaryDistribution current() {
+        SalaryDistribution distribution = published;
+        if (distribution != null) {
+            return distribution;
+        }
+        synchronized (this) {
+            if (published == null) {
+                ensureInitialized();
+                published = new SalaryDistribution(
+                        salaries.size(),
+                        added.sortedView(),
+                        removed.sortedView(),
+                        SalaryDistribution.histogram(salaries.size(), bucketWidth, buckets.clone()));
+            }
+            return published;
+        }
+    }
+
+    private void reconcile(List<EmployeeDTO> roster) {
+        if (roster == observed) {
+            return;
+        }
+        Map<String, Integer> next = new HashMap<>(Math.max(16, roster.size() * 4 / 3 + 1));
+        for (EmployeeDTO employee : roster) {
+            if (employee.getId() != null && employee.getSalary() != null) {
+                next.put(employee.getId(), employee.getSalary());
+            }
+        }
+        int changes = 0;
+        for (Map.Entry<String, Integer> entry : next.entrySet()) {
+            Integer previous = salaries.put(entry.getKey(), entry.getValue());
+            if (previous == null || !previous.equals(entry.getValue())) {
+                if (previous != null) {
+                    remove(previous);
+                }
+                add(entry.getValue());
+                changes++;
+            }
+        }
+        var gone = salaries.entrySet().iterator();
+        while (gone.hasNext()) {
+            var entry = gone.next();
+            if (!next.containsKey(entry.getKey())) {
+                gone.remove();
+                remove(entry.getValue());
+                changes++;
+            }
+        }
+        compactIfNeeded();
+        observed = roster;
+        log.debug("Reconciled salary statistics with a roster of {}: {} changes", roster.size(), changes);
+    }
+
+    private void add(int salary) {
+        ensureInitialized();
+        added.update(salary);
+        buckets[bucketOf(salary)]++;
+        published = null;
+    }
+
+    private void remove(int salary) {
+        ensureInitialized();
+        removed.update(salary);
+        buckets[bucketOf(salary)]--;
+        published = null;
+    }
+
+    private void compactIfNeeded() {
+        if (removed != null && removed.count() > Math.max(sketchK, salaries.size() / 4)) {
+            added = new KllSketch(sketchK);
+            removed = new KllSketch(sketchK);
+            salaries.values().forEach(added::update);
+        }
+    }
+
+    private void ensureInitialized() {
+        if (added == null) {
+            added = new KllSketch(sketchK);
+            removed = new KllSketch(sketchK);
+            buckets = new long[bucketCount];
+        }
+    }
+
+    private int bucketOf(int salary) {
+        return Math.min(bucketCount - 1, Math.max(0, salary / bucketWidth));
+    }
+}
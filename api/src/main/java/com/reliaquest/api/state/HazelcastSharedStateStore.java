@@ -0,0 +1,70 @@
+package com.reliaquest.api.state;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.map.IMap;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SharedStateStore} over Hazelcast maps, one per namespace, so every replica in the cluster sees the same
+ * entries. Budget windows are counted with an entry processor on the member owning the window's key, which keeps the
+ * increment atomic without a lock, and expire once their window is over.
+ */
+public class HazelcastSharedStateStore implements SharedStateStore {
+
+    private static final String BUDGETS = "upstream-budgets";
+
+    private final HazelcastInstance hazelcast;
+
+    public HazelcastSharedStateStore(HazelcastInstance hazelcast) {
+        this.hazelcast = hazelcast;
+    }
+
+    @Override
+    public <T extends Serializable> Optional<T> get(String namespace, String key) {
+        return Optional.ofNullable(this.<T>map(namespace).get(key));
+    }
+
+    @Override
+    public void put(String namespace, String key, Serializable value, Duration ttl) {
+        map(namespace).set(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T extends Serializable> T putIfAbsent(String namespace, String key, T value, Duration ttl) {
+        return this.<T>map(namespace).putIfAbsent(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void remove(String namespace, String key) {
+        map(namespace).delete(key);
+    }
+
+    @Override
+    public CompletionStage<Long> tryAcquire(String budget, long permits, long limit, Duration window) {
+        long index = System.currentTimeMillis() / window.toMillis();
+        String key = budget + '@' + index;
+        IMap<String, Long> counters = hazelcast.getMap(BUDGETS);
+        return counters.submitToKey(key, new Increment(permits, window.toMillis() * 2))
+                .thenApply(count -> SharedStateStore.granted(permits, count, limit));
+    }
+
+    private <T> IMap<String, T> map(String namespace) {
+        return hazelcast.getMap(namespace);
+    }
+
+    record Increment(long permits, long ttlMillis) implements EntryProcessor<String, Long, Long> {
+        @Override
+        public Long process(Map.Entry<String, Long> entry) {
+            long next = (entry.getValue() == null ? 0 : entry.getValue()) + permits;
+            ((ExtendedMapEntry<String, Long>) entry).setValue(next, ttlMillis, TimeUnit.MILLISECONDS);
+            return next;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.api.state;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process {@link SharedStateStore} for a single replica and for tests. Expired entries are dropped when read and
+ * swept every {@code SWEEP_INTERVAL} writes.
+ */
+public class LocalSharedStateStore implements SharedStateStore {
+
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Window> budgets = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+
+    private record Entry(Serializable value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private record Window(long index, AtomicLong count) {}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> Optional<T> get(String namespace, String key) {
+        String id = id(namespace, key);
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(id, entry);
+            return Optional.empty();
+        }
+        return Optional.of((T) entry.value());
+    }
+
+    @Override
+    public void put(String namespace, String key, Serializable value, Duration ttl) {
+        entries.put(id(namespace, key), new Entry(value, System.nanoTime() + ttl.toNanos()));
+        maybeSweep();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T putIfAbsent(String namespace, String key, T value, Duration ttl) {
+        long now = System.nanoTime();
+        Entry fresh = new Entry(value, now + ttl.toNanos());
+        Entry winner = entries.compute(
+                id(namespace, key), (id, existing) -> existing == null || existing.isExpired(now) ? fresh : existing);
+        maybeSweep();
+        return winner == fresh ? null : (T) winner.value();
+    }
+
+    @Override
+    public void remove(String namespace, String key) {
+        entries.remove(id(namespace, key));
+    }
+
+    @Override
+    public CompletionStage<Long> tryAcquire(String budget, long permits, long limit, Duration window) {
+        long index = System.currentTimeMillis() / window.toMillis();
+        Window current = budgets.compute(
+                budget,
+                (name, existing) ->
+                        existing != null && existing.index() == index ? existing : new Window(index, new AtomicLong()));
+        return CompletableFuture.completedFuture(
+                SharedStateStore.granted(permits, current.count().addAndGet(permits), limit));
+    }
+
+    private void maybeSweep() {
+        if (writes.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        }
+    }
+
+    private static String id(String namespace, String key) {
+        return namespace + ':' + key;
+    }
+}
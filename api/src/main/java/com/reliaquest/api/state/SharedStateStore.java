@@ -0,0 +1,48 @@
+package com.reliaquest.api.state;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * State that api replicas share so that adding replicas does not multiply upstream calls: the cached roster, the
+ * idempotency keys of creates and the global upstream budget. Entries live in namespaces and expire after their TTL.
+ *
+ * <p>{@link LocalSharedStateStore} keeps everything in process (one replica, tests); {@link HazelcastSharedStateStore}
+ * shares it across replicas. Values must be {@link Serializable} so either can hold them.
+ */
+public interface SharedStateStore {
+
+    <T extends Serializable> Optional<T> get(String namespace, String key);
+
+    void put(String namespace, String key, Serializable value, Duration ttl);
+
+    /** @return the value already stored under {@code key}, or {@code null} if {@code value} was stored */
+    <T extends Serializable> T putIfAbsent(String namespace, String key, T value, Duration ttl);
+
+    void remove(String namespace, String key);
+
+    /**
+     * Counts one call against {@code budget} in the current fixed window of length {@code window}, shared by every
+     * replica.
+     *
+     * @return whether the call is within {@code limit} for this window
+     */
+    default boolean tryAcquire(String budget, long limit, Duration window) {
+        return tryAcquire(budget, 1, limit, window).toCompletableFuture().join() == 1;
+    }
+
+    /**
+     * Counts {@code permits} calls at once against {@code budget} in the current window, for a replica that hands
+     * them out locally, without blocking the caller.
+     *
+     * @return how many of the permits are within {@code limit} for this window
+     */
+    CompletionStage<Long> tryAcquire(String budget, long permits, long limit, Duration window);
+
+    /** Of {@code permits} that brought the window's count to {@code count}, those within {@code limit}. */
+    static long granted(long permits, long count, long limit) {
+        return Math.max(0, Math.min(permits, limit - (count - permits)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.state;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Upstream calls allowed per {@code window} across all api replicas, on top of each replica's own
+ * {@link com.reliaquest.api.client.OperationPartitions} limits.
+ *
+ * <p>Permits are taken from the shared store {@code batch} at a time and handed out locally, and the next batch is
+ * requested in the background once half of the current one is used, so a busy replica rarely waits on the store. A
+ * caller only waits when a window starts, or when the replica runs dry faster than a batch arrives, and then without
+ * holding its thread: {@link #acquire()} answers once the batch has landed. Permits a
+ * replica still holds when the window ends are lost, so the cluster may fall short of {@code limit} by up to
+ * {@code batch - 1} per replica.
+ */
+@Slf4j
+public final class UpstreamBudget {
+
+    private final SharedStateStore store;
+    private final String name;
+    private final long limit;
+    private final Duration window;
+    private final long batch;
+
+    /* Local share of the current window; guarded by this. */
+    private long windowIndex = -1;
+    private long available;
+    private boolean exhausted;
+    private boolean refilling;
+    private CompletableFuture<Void> refilled = CompletableFuture.completedFuture(null);
+
+    public UpstreamBudget(SharedStateStore store, String name, long limit, Duration window, long batch) {
+        this.store = store;
+        this.name = name;
+        this.limit = limit;
+        this.window = window;
+        this.batch = Math.max(1, Math.min(batch, limit));
+    }
+
+    public static UpstreamBudget unlimited() {
+        return new UpstreamBudget(null, "unlimited", Long.MAX_VALUE, Duration.ofSeconds(1), 1);
+    }
+
+    /** Whether a permit was taken; lazy, and each subscription tries for one permit. */
+    public Mono<Boolean> acquire() {
+        if (store == null) {
+            return Mono.just(true);
+        }
+        return Mono.defer(() -> {
+            CompletableFuture<Void> arrival;
+            synchronized (this) {
+                if (take(System.currentTimeMillis() / window.toMillis())) {
+                    return Mono.just(true);
+                }
+                if (exhausted) {
+                    return Mono.just(false);
+                }
+                arrival = refilled;
+            }
+            // the batch is shared by every waiter, so one leaving must not cancel it
+            return Mono.fromFuture(arrival, true).then(acquire());
+        });
+    }
+
+    /** Gives back a permit taken by {@link #acquire()} but not used, while its window lasts. */
+    public synchronized void release() {
+        if (store != null && System.currentTimeMillis() / window.toMillis() == windowIndex) {
+            available++;
+        }
+    }
+
+    private boolean take(long index) {
+        if (index != windowIndex) {
+            windowIndex = index;
+            available = 0;
+            exhausted = false;
+            refilling = false;
+        }
+        boolean taken = available > 0;
+        if (taken) {
+            available--;
+        }
+        if (!exhausted && !refilling && available <= batch / 2) {
+            refilling = true;
+            try {
+                refilled = store.tryAcquire(name, batch, limit, window)
+                        .toCompletableFuture()
+                        .handle((granted, ex) -> {
+                            landed(index, granted, ex);
+                            return null;
+                        });
+            } catch (RuntimeException ex) {
+                landed(index, null, ex);
+            }
+        }
+        return taken;
+    }
+
+    private synchronized void landed(long index, Long granted, Throwable ex) {
+        if (index != windowIndex) {
+            return;
+        }
+        refilling = false;
+        if (ex != null) {
+            log.warn("Could not take upstream permits from {}, denying calls for this window", name, ex);
+            exhausted = true;
+            return;
+        }
+        available += granted;
+        exhausted = granted < batch;
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inbound concurrency limit that adapts to observed latency (AIMD): every request that completes within the latency
+ * target grows the limit by {@code 1 / limit}, roughly one per limit's worth of requests, and a request over the
+ * target cuts it by {@code backoffRatio}, at most once per target period so a single slow burst is not punished
+ * repeatedly.
+ *
+ * <p>Callers ask for a {@code share} of the limit, so lower-priority traffic is refused while higher-priority traffic
+ * is still admitted.
+ *
+ * <p>The latency fed back is the whole time a request held its slot, not a time spent waiting to be admitted: there is
+ * no such wait, a request is admitted or refused at once. What the limit bounds is request threads blocked on
+ * upstream, and by Little's law those are the admitted rate times that whole latency, so that is the signal. When
+ * upstream slows down or backs off, fewer requests are let in to block on it.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Object lock = new Object();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimit(
+            int initialLimit, int minLimit, int maxLimit, Duration latencyTarget, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+    }
+
+    /**
+     * Admits one request if fewer than {@code share * limit} are in flight (never less than one slot).
+     *
+     * @return whether the request was admitted; admitted requests must call {@link #release(long)}
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** @param latencyNanos how long the request held its slot, from {@link #tryAcquire} to completion */
+    public void release(long latencyNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        synchronized (lock) {
+            if (latencyNanos > latencyTargetNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (concurrent * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Duration getLatencyTarget() {
+        return Duration.ofNanos(latencyTargetNanos);
+    }
+}
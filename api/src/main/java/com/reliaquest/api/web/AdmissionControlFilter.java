@@ -0,0 +1,101 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.client.EmployeeOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects inbound requests with {@code 503} and {@code Retry-After} once {@link AdaptiveConcurrencyLimit} is reached,
+ * instead of letting them pile up on blocked request threads while upstream is backing off.
+ *
+ * <p>Endpoints are classified as {@link EmployeeOperation}s and each class may use a share of the limit: writes the
+ * whole limit, single-employee reads 90%, list and search 80%, and the salary aggregates 70%, so aggregates are shed
+ * first as the limit shrinks.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Map<EmployeeOperation, Double> SHARES = new EnumMap<>(Map.of(
+            EmployeeOperation.WRITE, 1.0,
+            EmployeeOperation.READ, 0.9,
+            EmployeeOperation.SEARCH, 0.8,
+            EmployeeOperation.AGGREGATE, 0.7));
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final String retryAfter;
+    private final Map<EmployeeOperation, Counter> rejected = new EnumMap<>(EmployeeOperation.class);
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry meterRegistry) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.retryAfter = Long.toString(
+                Math.max(1, (concurrencyLimit.getLatencyTarget().toMillis() + 999) / TimeUnit.SECONDS.toMillis(1)));
+        Gauge.builder("api.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("api.admission.inflight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .register(meterRegistry);
+        for (EmployeeOperation operation : EmployeeOperation.values()) {
+            rejected.put(
+                    operation,
+                    Counter.builder("api.admission.rejected")
+                            .tag("operation", operation.name().toLowerCase())
+                            .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EmployeeOperation operation = operationOf(request);
+        if (!concurrencyLimit.tryAcquire(SHARES.get(operation))) {
+            rejected.get(operation).increment();
+            log.warn(
+                    "Shedding {} {} ({} in flight, limit {})",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    concurrencyLimit.getInFlight(),
+                    concurrencyLimit.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - start);
+        }
+    }
+
+    static EmployeeOperation operationOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/api/query")) {
+            return EmployeeOperation.AGGREGATE;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return EmployeeOperation.WRITE;
+        }
+        if (path.equals("/api") || path.equals("/api/") || path.startsWith("/api/search/")) {
+            return EmployeeOperation.SEARCH;
+        }
+        if (path.equalsIgnoreCase("/api/highestSalary")
+                || path.equalsIgnoreCase("/api/topTenHighestEarningEmployeeNames")
+                || path.startsWith("/api/salary/")) {
+            return EmployeeOperation.AGGREGATE;
+        }
+        return EmployeeOperation.READ;
+    }
+}
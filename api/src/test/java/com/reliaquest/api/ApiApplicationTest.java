@@ -1,15 +1,19 @@
 package com.reliaquest.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.RateLimitExceededException;
 import com.reliaquest.api.model.EmployeeDTO;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
@@ -17,12 +21,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "api.checkpoint.enabled=false")
 class ApiApplicationTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
     @MockBean
     private EmployeeService service;
 
@@ -37,6 +44,17 @@ class ApiApplicationTest {
                 "c290df07-d253-4fec-b3fc-0630ab2e479e", "Jane Doe", 7000, 28, "Manager", "jane@company.com");
     }
 
+    @Test
+    void testNoResilience4jBeanIsCreatedAtStartup() {
+        List<String> created = Arrays.stream(beanFactory.getSingletonNames())
+                .filter(name -> beanFactory.getSingleton(name) != null)
+                .filter(name ->
+                        beanFactory.getSingleton(name).getClass().getName().startsWith("io.github.resilience4j."))
+                .toList();
+
+        assertEquals(List.of(), created);
+    }
+
     @Test
     void testGetAllEmployees() {
         Mockito.when(service.getAllEmployees()).thenReturn(Mono.just(List.of(emp1, emp2)));
@@ -58,7 +76,7 @@ class ApiApplicationTest {
     @Test
     void testCreateEmployee() {
         EmployeeInput input = new EmployeeInput("Mark", 6000, 35, "Analyst");
-        Mockito.when(service.createEmployee(Mockito.anyString(), Mockito.any(EmployeeInput.class)))
+        Mockito.when(service.createEmployee(Mockito.isNull(), Mockito.any(EmployeeInput.class)))
                 .thenReturn(Mono.just(emp1));
 
         webTestClient
@@ -76,6 +94,26 @@ class ApiApplicationTest {
                 .isEqualTo(5000);
     }
 
+    @Test
+    void testCreateEmployeePassesIdempotencyKeyHeader() {
+        EmployeeInput input = new EmployeeInput("Mark", 6000, 35, "Analyst");
+        Mockito.when(service.createEmployee(Mockito.eq("retry-1"), Mockito.any(EmployeeInput.class)))
+                .thenReturn(Mono.just(emp2));
+
+        webTestClient
+                .post()
+                .uri("/api")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(input)
+                .exchange()
+                .expectStatus()
+                .isCreated()
+                .expectBody()
+                .jsonPath("$.employee_name")
+                .isEqualTo("Jane Doe");
+    }
+
     @Test
     void testGetEmployeeById() {
 
@@ -0,0 +1,75 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class BatchLoaderTest {
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void testLoadsWithinWindowShareOneBatch() {
+        BatchLoader<String, String> loader = loader(Duration.ofMillis(50), 100);
+
+        List<String> values = Flux.just("a", "b", "a", "missing", "c")
+                .flatMapSequential(key -> loader.load(key).defaultIfEmpty("-"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("A", "B", "A", "-", "C"), values);
+        assertEquals(List.of(List.of("a", "b", "missing", "c")), batches);
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaitingForTheWindow() {
+        BatchLoader<String, String> loader = loader(Duration.ofSeconds(30), 2);
+
+        List<String> values = Flux.just("a", "b", "c", "d")
+                .flatMapSequential(loader::load)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("A", "B", "C", "D"), values);
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), batches);
+    }
+
+    @Test
+    void testFailedBatchFailsEveryCaller() {
+        BatchLoader<String, String> loader = new BatchLoader<>(
+                "test",
+                Duration.ofMillis(10),
+                100,
+                keys -> Mono.error(new IllegalStateException("upstream down")),
+                Schedulers.parallel());
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> Flux.just("a", "b").flatMap(loader::load).blockLast(Duration.ofSeconds(5)));
+        assertNull(loader(Duration.ofMillis(10), 100).load("missing").block(Duration.ofSeconds(5)));
+    }
+
+    private BatchLoader<String, String> loader(Duration window, int maxBatchSize) {
+        return new BatchLoader<>(
+                "test",
+                window,
+                maxBatchSize,
+                keys -> {
+                    batches.add(keys);
+                    return Mono.just(keys.stream()
+                            .filter(key -> !key.equals("missing"))
+                            .collect(Collectors.toMap(key -> key, String::toUpperCase)));
+                },
+                Schedulers.parallel());
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("a", "b", "c");
+
+    @Test
+    void testRouteVisitsEveryNodeOnceOwnerFirst() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, node -> node, 64);
+        for (int i = 0; i < 100; i++) {
+            String key = UUID.randomUUID().toString();
+            List<String> order = ring.route(key);
+            assertEquals(3, new HashSet<>(order).size());
+            assertEquals(order, ring.route(key));
+        }
+    }
+
+    @Test
+    void testKeysSpreadEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, node -> node, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(ring.route(UUID.randomUUID().toString()).get(0), 1, Integer::sum);
+        }
+        counts.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, counts.toString()));
+    }
+
+    @Test
+    void testAddingNodeOnlyMovesItsShare() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(NODES, node -> node, 128);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(List.of("a", "b", "c", "d"), node -> node, 128);
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String key = UUID.randomUUID().toString();
+            String owner = after.route(key).get(0);
+            if (!owner.equals(before.route(key).get(0))) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 3_500, "moved " + moved);
+    }
+}
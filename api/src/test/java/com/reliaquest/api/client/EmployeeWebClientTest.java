@@ -0,0 +1,173 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.reliaquest.api.client.UpstreamStubs.Stub;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.state.LocalSharedStateStore;
+import com.reliaquest.api.state.UpstreamBudget;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+/** Two stubbed upstreams; batching off so reads take the ring-ordered path. */
+class EmployeeWebClientTest {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Stub a = new Stub("a", request -> UpstreamStubs.json(HttpStatus.NOT_FOUND, "{}"));
+    private final Stub b = new Stub("b", request -> UpstreamStubs.json(HttpStatus.NOT_FOUND, "{}"));
+    private final UpstreamPool pool =
+            new UpstreamPool(List.of(a.upstream, b.upstream), 16, Duration.ZERO, Duration.ZERO);
+    private final RetryParkingLot parkingLot = new RetryParkingLot(Duration.ofMillis(10));
+    private final OperationPartitions partitions = new OperationPartitions(
+            BulkheadRegistry.ofDefaults(),
+            RateLimiterRegistry.of(RateLimiterConfig.custom()
+                    .limitForPeriod(10)
+                    .limitRefreshPeriod(Duration.ofHours(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build()),
+            UpstreamBudget.unlimited());
+    private final EmployeeWebClient client = client(1);
+
+    @AfterEach
+    void close() {
+        pool.close();
+        parkingLot.close();
+    }
+
+    @Test
+    void testReadFailsOverWhenOwnerIsUnavailable() {
+        owner().handler = request -> UpstreamStubs.json(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+        other().handler =
+                request -> UpstreamStubs.json(HttpStatus.OK, "{\"data\":" + UpstreamStubs.employee(id, "Ann") + "}");
+
+        EmployeeDTO found = client.getEmployeeById(id).block();
+
+        assertEquals("Ann", found.getName());
+        assertEquals(1, other().requestsTo("/employee/" + id));
+    }
+
+    @Test
+    void testRateLimitedReadDoesNotFailOver() {
+        owner().handler = request -> UpstreamStubs.json(HttpStatus.TOO_MANY_REQUESTS, "{}");
+
+        EmployeeDTO found = client.getEmployeeById(id).block();
+
+        assertEquals("Fallback Employee", found.getName());
+        assertTrue(other().requests.isEmpty());
+    }
+
+    @Test
+    void testNotFoundOnOwnerIsLookedUpAcrossThePool() {
+        other().handler = request -> request.url().getPath().equals("/employee/lookup")
+                ? UpstreamStubs.json(HttpStatus.OK, "{\"data\":[" + UpstreamStubs.employee(id, "Ann") + "]}")
+                : UpstreamStubs.json(HttpStatus.NOT_FOUND, "{}");
+
+        EmployeeDTO found = client.getEmployeeById(id).block();
+
+        assertEquals("Ann", found.getName());
+        assertEquals(0, other().requestsTo("/employee/" + id));
+        assertEquals(1, other().requestsTo("/employee/lookup"));
+    }
+
+    @Test
+    void testScatterMergesShardsAndTakesAPermitPerUpstream() {
+        a.handler =
+                request -> UpstreamStubs.json(HttpStatus.OK, "{\"data\":[" + UpstreamStubs.employee("1", "Ann") + "]}");
+        b.handler =
+                request -> UpstreamStubs.json(HttpStatus.OK, "{\"data\":[" + UpstreamStubs.employee("2", "Bob") + "]}");
+
+        RosterRead read = client.readRoster(EmployeeOperation.SEARCH).block();
+
+        assertEquals(
+                List.of("Ann", "Bob"),
+                read.employees().stream().map(EmployeeDTO::getName).toList());
+        assertTrue(read.authoritative());
+        assertEquals(
+                8, partitions.rateLimiter(EmployeeOperation.SEARCH).getMetrics().getAvailablePermissions());
+    }
+
+    @Test
+    void testScatterWithAFailedShardIsPartial() {
+        a.handler =
+                request -> UpstreamStubs.json(HttpStatus.OK, "{\"data\":[" + UpstreamStubs.employee("1", "Ann") + "]}");
+        b.handler = request -> UpstreamStubs.json(HttpStatus.INTERNAL_SERVER_ERROR, "{}");
+
+        RosterRead read = client.readRoster(EmployeeOperation.SEARCH).block();
+
+        assertEquals(
+                List.of("Ann"),
+                read.employees().stream().map(EmployeeDTO::getName).toList());
+        assertFalse(read.authoritative());
+    }
+
+    @Test
+    void testCreateIsNotReplayedAfterUpstreamMayHaveAppliedIt() {
+        a.handler = request -> UpstreamStubs.json(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+        b.handler = a.handler;
+        EmployeeWebClient retrying = client(3);
+        EmployeeInput input = new EmployeeInput("Ann", 100, 30, "Engineer");
+
+        StepVerifier.create(retrying.createEmployee(input, "key"))
+                .expectError(WebClientResponseException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, a.requestsTo("/employee") + b.requestsTo("/employee"));
+    }
+
+    @Test
+    void testRateLimitedCreateIsRetried() {
+        AtomicInteger posts = new AtomicInteger();
+        a.handler = request -> posts.incrementAndGet() == 1
+                ? UpstreamStubs.json(HttpStatus.TOO_MANY_REQUESTS, "{}")
+                : UpstreamStubs.json(HttpStatus.OK, "{\"data\":" + UpstreamStubs.employee(id, "Ann") + "}");
+        b.handler = a.handler;
+
+        EmployeeDTO created = client(3)
+                .createEmployee(new EmployeeInput("Ann", 100, 30, "Engineer"), "key")
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("Ann", created.getName());
+        assertEquals(2, posts.get());
+    }
+
+    private Stub owner() {
+        return pool.route(id).get(0) == a.upstream ? a : b;
+    }
+
+    private Stub other() {
+        return owner() == a ? b : a;
+    }
+
+    private EmployeeWebClient client(int maxAttempts) {
+        EmployeeWebClient client = new EmployeeWebClient(
+                pool,
+                new UpstreamRetry(
+                        maxAttempts, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(5), parkingLot),
+                partitions,
+                new RosterProjection(new JsonFactory(), new StringInterner(64)),
+                new RequestHedger(false, Duration.ofMillis(50), 0, 0, null, new SimpleMeterRegistry()),
+                new LocalSharedStateStore());
+        ReflectionTestUtils.setField(client, "rosterTtl", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "staleTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(client, "batchLookups", false);
+        ReflectionTestUtils.setField(client, "batchWindow", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(client, "batchMaxSize", 100);
+        client.startBatching();
+        return client;
+    }
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.ResilienceOperator;
+import com.reliaquest.api.state.LocalSharedStateStore;
+import com.reliaquest.api.state.UpstreamBudget;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+class OperationPartitionsTest {
+
+    private static final Retry NO_RETRY = Retry.max(0).onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+    private final OperationPartitions partitions = new OperationPartitions(
+            BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(1).build()),
+            RateLimiterRegistry.of(RateLimiterConfig.custom()
+                    .limitForPeriod(1)
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build()),
+            UpstreamBudget.unlimited());
+
+    @Test
+    void testWritesBorrowFromOtherPartitions() {
+        assertTrue(partitions.acquirePermit(EmployeeOperation.WRITE).block());
+        assertTrue(partitions.acquirePermit(EmployeeOperation.WRITE).block());
+        assertFalse(partitions.acquirePermit(EmployeeOperation.AGGREGATE).block());
+    }
+
+    @Test
+    void testReadsDoNotBorrow() {
+        assertTrue(partitions.acquirePermit(EmployeeOperation.SEARCH).block());
+        assertFalse(partitions.acquirePermit(EmployeeOperation.SEARCH).block());
+        assertTrue(partitions.acquirePermit(EmployeeOperation.READ).block());
+    }
+
+    @Test
+    void testBudgetDenialKeepsLocalPermit() {
+        UpstreamBudget budget = new UpstreamBudget(new LocalSharedStateStore(), "upstream", 1, Duration.ofHours(1), 1);
+        OperationPartitions budgeted = new OperationPartitions(
+                BulkheadRegistry.ofDefaults(),
+                RateLimiterRegistry.of(RateLimiterConfig.custom()
+                        .limitForPeriod(2)
+                        .limitRefreshPeriod(Duration.ofMinutes(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()),
+                budget);
+
+        assertTrue(budgeted.acquirePermit(EmployeeOperation.SEARCH).block());
+        assertFalse(budgeted.acquirePermit(EmployeeOperation.SEARCH).block());
+        assertEquals(
+                1, budgeted.rateLimiter(EmployeeOperation.SEARCH).getMetrics().getAvailablePermissions());
+    }
+
+    @Test
+    void testLocalDenialReturnsBudgetPermit() {
+        UpstreamBudget budget = new UpstreamBudget(new LocalSharedStateStore(), "upstream", 1, Duration.ofHours(1), 1);
+        OperationPartitions budgeted = new OperationPartitions(
+                BulkheadRegistry.ofDefaults(),
+                RateLimiterRegistry.of(RateLimiterConfig.custom()
+                        .limitForPeriod(1)
+                        .limitRefreshPeriod(Duration.ofMinutes(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()),
+                budget);
+        budgeted.rateLimiter(EmployeeOperation.SEARCH).acquirePermission();
+
+        assertFalse(budgeted.acquirePermit(EmployeeOperation.SEARCH).block());
+        assertTrue(budgeted.acquirePermit(EmployeeOperation.READ).block());
+    }
+
+    @Test
+    void testShedReadIsServedStale() {
+        partitions.acquirePermit(EmployeeOperation.READ).block();
+
+        StepVerifier.create(Mono.just("upstream")
+                        .transform(ResilienceOperator.withResilience(
+                                partitions, EmployeeOperation.READ, NO_RETRY, Mono.just("stale"), "fallback")))
+                .expectNext("stale")
+                .verifyComplete();
+    }
+
+    @Test
+    void testRetryWaitsWithoutHoldingBulkheadSlot() throws Exception {
+        OperationPartitions roomy = new OperationPartitions(
+                BulkheadRegistry.of(
+                        BulkheadConfig.custom().maxConcurrentCalls(1).build()),
+                RateLimiterRegistry.of(RateLimiterConfig.custom()
+                        .limitForPeriod(10)
+                        .limitRefreshPeriod(Duration.ofMinutes(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()),
+                UpstreamBudget.unlimited());
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> retried = Mono.defer(() -> attempts.incrementAndGet() == 1
+                        ? Mono.<String>error(new IOException("connection reset"))
+                        : Mono.just("retried"))
+                .transform(ResilienceOperator.isolated(
+                        roomy, EmployeeOperation.SEARCH, Retry.fixedDelay(1, Duration.ofMillis(500))))
+                .toFuture();
+
+        StepVerifier.create(Mono.just("other")
+                        .transform(ResilienceOperator.isolated(roomy, EmployeeOperation.SEARCH, NO_RETRY)))
+                .expectNext("other")
+                .verifyComplete();
+        assertEquals("retried", retried.get(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testBulkheadIsolatesOperations() {
+        partitions.bulkhead(EmployeeOperation.SEARCH).tryAcquirePermission();
+
+        StepVerifier.create(Mono.just("upstream")
+                        .transform(ResilienceOperator.withResilience(
+                                partitions, EmployeeOperation.SEARCH, NO_RETRY, Mono.empty(), "fallback")))
+                .expectNext("fallback")
+                .verifyComplete();
+        StepVerifier.create(Mono.just("upstream")
+                        .transform(ResilienceOperator.withResilience(
+                                partitions, EmployeeOperation.AGGREGATE, NO_RETRY, "fallback")))
+                .expectNext("upstream")
+                .verifyComplete();
+    }
+}
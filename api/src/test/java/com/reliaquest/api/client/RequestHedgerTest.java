@@ -0,0 +1,138 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.state.LocalSharedStateStore;
+import com.reliaquest.api.state.UpstreamBudget;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class RequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSlowRequestIsHedged() {
+        RequestHedger hedger = new RequestHedger(true, Duration.ofMillis(50), 1.0, 0, partitions(10), meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> hedged = hedger.hedge(
+                "read",
+                EmployeeOperation.READ,
+                () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn("slow")
+                        : Mono.just("fast"));
+
+        StepVerifier.create(hedged).expectNext("fast").expectComplete().verify(Duration.ofSeconds(3));
+        assertEquals(2, calls.get());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("employee.client.hedge.wins", "operation", "read")
+                        .count());
+    }
+
+    @Test
+    void testFirstRequestIsCancelledWhenHedgeWins() {
+        RequestHedger hedger = new RequestHedger(true, Duration.ofMillis(50), 1.0, 0, partitions(10), meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Mono<String> hedged = hedger.hedge(
+                "read",
+                EmployeeOperation.READ,
+                () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn("slow").doOnCancel(() -> cancelled.set(true))
+                        : Mono.just("fast"));
+
+        StepVerifier.create(hedged).expectNext("fast").expectComplete().verify(Duration.ofSeconds(3));
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void testConcurrentHedgesStayWithinMaxRate() {
+        RequestHedger hedger = new RequestHedger(true, Duration.ofMillis(50), 0.1, 0, partitions(1000), meterRegistry);
+
+        Flux.range(0, 200)
+                .flatMap(i -> hedger.hedge("read", EmployeeOperation.READ, () -> Mono.delay(Duration.ofMillis(1200))
+                                .thenReturn(i))
+                        .subscribeOn(Schedulers.parallel()))
+                .blockLast(Duration.ofSeconds(5));
+
+        double sent = meterRegistry
+                .counter("employee.client.hedge.sent", "operation", "read")
+                .count();
+        assertTrue(sent > 0 && sent <= 20, "hedges sent: " + sent);
+    }
+
+    @Test
+    void testNoHedgeWithoutSpareRateLimiterPermits() {
+        RequestHedger hedger = new RequestHedger(true, Duration.ofMillis(50), 1.0, 2, partitions(2), meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> hedged = hedger.hedge("read", EmployeeOperation.READ, () -> Mono.delay(Duration.ofMillis(1500))
+                .thenReturn("only-" + calls.incrementAndGet()));
+
+        StepVerifier.create(hedged).expectNext("only-1").expectComplete().verify(Duration.ofSeconds(3));
+        assertEquals(
+                0.0,
+                meterRegistry
+                        .counter("employee.client.hedge.sent", "operation", "read")
+                        .count());
+    }
+
+    @Test
+    void testFirstRequestErrorIsNotMaskedByHedge() {
+        RequestHedger hedger = new RequestHedger(true, Duration.ofMillis(50), 1.0, 0, partitions(10), meterRegistry);
+
+        StepVerifier.create(hedger.hedge(
+                        "read", EmployeeOperation.READ, () -> Mono.<String>error(new IllegalStateException("404"))))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testNoHedgeWithoutUpstreamBudget() {
+        UpstreamBudget budget = new UpstreamBudget(new LocalSharedStateStore(), "upstream", 1, Duration.ofHours(1), 1);
+        assertTrue(budget.acquire().block());
+        RequestHedger hedger =
+                new RequestHedger(true, Duration.ofMillis(50), 1.0, 0, partitions(10, budget), meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> hedged = hedger.hedge("read", EmployeeOperation.READ, () -> Mono.delay(Duration.ofMillis(1500))
+                .thenReturn("only-" + calls.incrementAndGet()));
+
+        StepVerifier.create(hedged).expectNext("only-1").expectComplete().verify(Duration.ofSeconds(3));
+        assertEquals(
+                0.0,
+                meterRegistry
+                        .counter("employee.client.hedge.sent", "operation", "read")
+                        .count());
+    }
+
+    private static OperationPartitions partitions(int permits) {
+        return partitions(permits, UpstreamBudget.unlimited());
+    }
+
+    private static OperationPartitions partitions(int permits, UpstreamBudget budget) {
+        return new OperationPartitions(
+                BulkheadRegistry.ofDefaults(),
+                RateLimiterRegistry.of(RateLimiterConfig.custom()
+                        .limitForPeriod(permits)
+                        .limitRefreshPeriod(Duration.ofMinutes(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()),
+                budget);
+    }
+}
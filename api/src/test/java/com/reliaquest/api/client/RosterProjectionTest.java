@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.Test;
+
+class RosterProjectionTest {
+
+    private static final String ROSTER =
+            """
+            {"data":[
+              {"id":"a","employee_name":"Ann","employee_salary":5000,"employee_age":30,"employee_title":"Engineer"},
+              {"id":"b","employee_name":"Bob","employee_salary":9000,"employee_age":41,"employee_title":"Manager",
+               "extra":{"nested":[1,2]}},
+              {"id":"c","employee_name":"Cid","employee_salary":9000,"employee_age":25,"employee_title":"Engineer"},
+              {"id":"d","employee_name":"Dee","employee_salary":null,"employee_title":"Engineer"}
+            ],"status":"Successfully processed request."}
+            """;
+
+    private final RosterProjection projection =
+            new RosterProjection(WireFormat.JSON.newJsonFactory(), new StringInterner(16));
+
+    @Test
+    void testMaxSalarySkipsMissingValues() throws IOException {
+        assertEquals(OptionalInt.of(9000), projection.maxSalary(json(ROSTER)));
+        assertEquals(OptionalInt.empty(), projection.maxSalary(json("{\"data\":[]}")));
+    }
+
+    @Test
+    void testTopEarnersKeepsRosterOrderOnTies() throws IOException {
+        assertEquals(List.of("Bob", "Cid"), projection.topEarnerNames(json(ROSTER), 2));
+        assertEquals(List.of("Bob", "Cid", "Ann"), projection.topEarnerNames(json(ROSTER), 10));
+    }
+
+    @Test
+    void testTitlesAreInterned() throws IOException {
+        List<String> titles = new ArrayList<>();
+        projection.read(json(ROSTER), EnumSet.of(RosterProjection.Field.TITLE), row -> titles.add(row.getTitle()));
+
+        assertEquals(List.of("Engineer", "Manager", "Engineer", "Engineer"), titles);
+        assertSame(titles.get(0), titles.get(2));
+    }
+
+    @Test
+    void testReadsCbor() throws IOException {
+        Map<?, ?> document = new ObjectMapper().readValue(ROSTER, Map.class);
+        byte[] cbor = new CBORMapper().writeValueAsBytes(document);
+        RosterProjection cborProjection =
+                new RosterProjection(WireFormat.CBOR.newJsonFactory(), new StringInterner(16));
+
+        assertEquals(List.of("Bob", "Cid"), cborProjection.topEarnerNames(new ByteArrayInputStream(cbor), 2));
+        assertTrue(cborProjection.maxSalary(new ByteArrayInputStream(cbor)).isPresent());
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.client.UpstreamStubs.Stub;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+class UpstreamPoolTest {
+
+    @Test
+    void testHealthChecksMarkUpstreamsDownAndUpAgain() throws InterruptedException {
+        Stub a = new Stub("a", request -> UpstreamStubs.json(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+        Stub b = new Stub("b", request -> UpstreamStubs.json(HttpStatus.OK, "{\"status\":\"UP\"}"));
+        try (UpstreamPool pool =
+                new UpstreamPool(List.of(a.upstream, b.upstream), 16, Duration.ofMillis(20), Duration.ofSeconds(1))) {
+            awaitHealthy(a.upstream, false);
+            assertEquals(List.of(b.upstream), pool.healthy());
+
+            a.handler = request -> UpstreamStubs.json(HttpStatus.OK, "{\"status\":\"UP\"}");
+            awaitHealthy(a.upstream, true);
+            assertEquals(2, pool.healthy().size());
+        }
+
+        assertTrue(a.requests.stream()
+                .allMatch(request -> request.headers().getAccept().equals(List.of(MediaType.APPLICATION_JSON))));
+    }
+
+    @Test
+    void testRefusedConnectionMarksDownAndAllAreTriedWhenNoneIsHealthy() {
+        Stub a = new Stub("a", UpstreamStubs::refused);
+        Stub b = new Stub("b", UpstreamStubs::refused);
+        try (UpstreamPool pool = new UpstreamPool(List.of(a.upstream, b.upstream), 16, Duration.ZERO, Duration.ZERO)) {
+            a.upstream
+                    .getWebClient()
+                    .get()
+                    .retrieve()
+                    .toBodilessEntity()
+                    .onErrorResume(ex -> {
+                        pool.reportFailure(a.upstream, ex);
+                        return Mono.empty();
+                    })
+                    .block();
+
+            assertFalse(a.upstream.isHealthy());
+            assertEquals(List.of(b.upstream), pool.healthy());
+            assertEquals(b.upstream, pool.route("any").get(0));
+
+            b.upstream.setHealthy(false);
+            assertEquals(2, pool.healthy().size());
+        }
+    }
+
+    @Test
+    void testOnlyUnavailabilityFailsOver() {
+        assertTrue(UpstreamPool.isUnavailable(response(HttpStatus.BAD_GATEWAY)));
+        assertTrue(UpstreamPool.isUnavailable(new TimeoutException()));
+        assertFalse(UpstreamPool.isUnavailable(response(HttpStatus.NOT_FOUND)));
+        assertFalse(UpstreamPool.isUnavailable(response(HttpStatus.TOO_MANY_REQUESTS)));
+        assertFalse(UpstreamPool.isUnavailable(new IllegalStateException()));
+    }
+
+    private static WebClientResponseException response(HttpStatus status) {
+        return WebClientResponseException.create(
+                status.value(), status.getReasonPhrase(), HttpHeaders.EMPTY, new byte[0], null, null);
+    }
+
+    private static void awaitHealthy(Upstream upstream, boolean healthy) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (upstream.isHealthy() != healthy && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(healthy, upstream.isHealthy());
+    }
+}
@@ -0,0 +1,130 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.RateLimitExceededException;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamRetryTest {
+
+    private final RetryParkingLot parkingLot = new RetryParkingLot(Duration.ofMillis(10));
+    private final UpstreamRetry retry =
+            new UpstreamRetry(3, Duration.ofMillis(20), Duration.ofMillis(100), Duration.ofMillis(200), parkingLot);
+
+    @AfterEach
+    void closeParkingLot() {
+        parkingLot.close();
+    }
+
+    @Test
+    void testRetriesTransientFailuresUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> upstream = Mono.defer(() -> calls.incrementAndGet() < 3
+                ? Mono.error(new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, "slow down"))
+                : Mono.just("ok"));
+
+        StepVerifier.create(upstream.retryWhen(retry)).expectNext("ok").verifyComplete();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testDoesNotRetryNotFound() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> upstream = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new EmployeeNotFoundException(HttpStatus.NOT_FOUND, "missing"));
+        });
+
+        StepVerifier.create(upstream.retryWhen(retry))
+                .expectError(EmployeeNotFoundException.class)
+                .verify();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testGivesUpWhenRetryAfterExceedsDeadline() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> upstream = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(
+                    new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, "backoff", Duration.ofSeconds(60)));
+        });
+
+        StepVerifier.create(upstream.retryWhen(retry).contextWrite(RequestDeadline.within(Duration.ofSeconds(5))))
+                .expectError(RateLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testRetryAfterWaitsAtLeastAsLongAsUpstreamAsked() {
+        Duration delay = retry.delayFor(
+                0, new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, "", Duration.ofSeconds(2)));
+
+        assertTrue(delay.compareTo(Duration.ofSeconds(2)) >= 0);
+        assertTrue(delay.compareTo(Duration.ofMillis(2200)) <= 0);
+    }
+
+    @Test
+    void testParsesRateLimitHeaders() {
+        HttpHeaders seconds = new HttpHeaders();
+        seconds.set(HttpHeaders.RETRY_AFTER, "42");
+        HttpHeaders reset = new HttpHeaders();
+        reset.set("X-RateLimit-Reset", "7");
+
+        assertEquals(Duration.ofSeconds(42), UpstreamRetry.retryAfter(seconds));
+        assertEquals(Duration.ofSeconds(7), UpstreamRetry.retryAfter(reset));
+        assertNull(UpstreamRetry.retryAfter(new HttpHeaders()));
+    }
+
+    @Test
+    void testEpochResetIsAnInstantNotAWait() {
+        HttpHeaders future = new HttpHeaders();
+        future.set("X-RateLimit-Reset", Long.toString(Instant.now().getEpochSecond() + 30));
+        HttpHeaders past = new HttpHeaders();
+        past.set("X-RateLimit-Reset", Long.toString(Instant.now().getEpochSecond() - 5));
+
+        Duration wait = UpstreamRetry.retryAfter(future);
+        assertTrue(wait.compareTo(Duration.ofSeconds(28)) >= 0 && wait.compareTo(Duration.ofSeconds(30)) <= 0);
+        assertEquals(Duration.ZERO, UpstreamRetry.retryAfter(past));
+    }
+
+    @Test
+    void testHungAttemptTimesOutAndIsRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> upstream = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return retry.attempt(Mono.<String>never());
+        });
+
+        StepVerifier.create(upstream.retryWhen(retry))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testWithoutReplaysRetriesOnlyWhatUpstreamNeverProcessed() {
+        UpstreamRetry noReplays = retry.withoutReplays();
+
+        assertFalse(noReplays.shouldRetry(new IOException("connection reset")));
+        assertFalse(noReplays.shouldRetry(WebClientResponseException.create(503, "Unavailable", null, null, null)));
+        assertTrue(noReplays.shouldRetry(new RateLimitExceededException(HttpStatus.TOO_MANY_REQUESTS, "slow down")));
+        assertTrue(retry.shouldRetry(new IOException("connection reset")));
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.client;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+/** An {@link Upstream} answered in process, recording the requests it saw. */
+class UpstreamStubs {
+
+    static final class Stub {
+
+        final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+        volatile Function<ClientRequest, Mono<ClientResponse>> handler;
+        final Upstream upstream;
+
+        Stub(String host, Function<ClientRequest, Mono<ClientResponse>> handler) {
+            this.handler = handler;
+            this.upstream = new Upstream(
+                    "http://" + host,
+                    "/actuator/health",
+                    WebClient.builder()
+                            .baseUrl("http://" + host)
+                            .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                            .exchangeFunction(request -> {
+                                requests.add(request);
+                                return this.handler.apply(request);
+                            })
+                            .build());
+        }
+
+        long requestsTo(String path) {
+            return requests.stream()
+                    .filter(request -> request.url().getPath().equals(path))
+                    .count();
+        }
+    }
+
+    static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    static Mono<ClientResponse> refused(ClientRequest request) {
+        return Mono.error(new WebClientRequestException(
+                new ConnectException("Connection refused"), request.method(), request.url(), request.headers()));
+    }
+
+    static String employee(String id, String name) {
+        return "{\"id\":\"" + id + "\",\"employee_name\":\"" + name + "\",\"employee_salary\":100}";
+    }
+}
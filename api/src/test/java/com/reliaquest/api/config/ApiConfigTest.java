@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+class ApiConfigTest {
+
+    @Test
+    void testResilience4jBeansAreLazyAndSingletonFactoriesAreSkipped() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition(
+                "bulkheadConfiguration", new RootBeanDefinition(BulkheadAutoConfiguration.class));
+        RootBeanDefinition registry = new RootBeanDefinition();
+        registry.setFactoryBeanName("bulkheadConfiguration");
+        registry.setFactoryMethodName("bulkheadRegistry");
+        beanFactory.registerBeanDefinition("bulkheadRegistry", registry);
+        beanFactory.registerSingleton("registeredFactory", new Object());
+        RootBeanDefinition fromSingleton = new RootBeanDefinition();
+        fromSingleton.setFactoryBeanName("registeredFactory");
+        fromSingleton.setFactoryMethodName("toString");
+        beanFactory.registerBeanDefinition("fromSingleton", fromSingleton);
+
+        ApiConfig.lazyResilience4j().postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("bulkheadRegistry").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("bulkheadConfiguration").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("fromSingleton").isLazyInit());
+    }
+}
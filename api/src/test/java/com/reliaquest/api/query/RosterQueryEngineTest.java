@@ -0,0 +1,159 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.InvalidQueryException;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.RosterQuery;
+import com.reliaquest.api.model.RosterQueryResult;
+import com.reliaquest.api.service.RosterSnapshot;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RosterQueryEngineTest {
+
+    private static final RosterSnapshot SNAPSHOT = RosterSnapshot.of(List.of(
+            employee("a", "John Smith", 90000, 34, "Engineer"),
+            employee("b", "Jane Smithers", 120000, 45, "Manager"),
+            employee("c", "Jon Snow", 60000, 29, "Engineer"),
+            employee("d", "Mary Watson", 75000, 38, "Engineer"),
+            employee("e", "Dee Null", null, null, "Analyst")));
+
+    private final RosterQueryEngine engine = new RosterQueryEngine();
+
+    @Test
+    void testFiltersSortsAndLimitsEmployees() {
+        RosterQueryResult result = run(new RosterQuery(
+                List.of(condition("title", "eq", "engineer"), condition("salary", "between", List.of(60000, 90000))),
+                null,
+                null,
+                List.of("salary desc"),
+                2));
+
+        assertEquals(3, result.getMatched());
+        assertEquals(List.of("John Smith", "Mary Watson"), names(result));
+        assertEquals("column scan", result.getPlan().getAccessPath());
+    }
+
+    @Test
+    void testGroupsWithAggregatesAndBuckets() {
+        RosterQueryResult byTitle = run(new RosterQuery(
+                null, List.of("title"), List.of("count", "avg(salary)", "max(age)"), List.of("count desc"), null));
+
+        RosterQueryResult.Group engineers = byTitle.getGroups().get(0);
+        assertEquals(Map.of("title", "Engineer"), engineers.getKey());
+        assertEquals(3L, engineers.getValues().get("count"));
+        assertEquals(75000.0, engineers.getValues().get("avg(salary)"));
+        assertEquals(38, engineers.getValues().get("max(age)"));
+
+        RosterQueryResult byAge = run(new RosterQuery(null, List.of("age:10"), null, null, null));
+        assertEquals(
+                List.of("20-29", "30-39", "40-49"),
+                byAge.getGroups().stream()
+                        .map(group -> group.getKey().get("age"))
+                        .filter(key -> key != null)
+                        .toList());
+        assertNull(byAge.getGroups().get(3).getKey().get("age"));
+    }
+
+    @Test
+    void testAggregatesWithoutGroupsCoverEveryMatch() {
+        RosterQueryResult result = run(new RosterQuery(
+                List.of(condition("title", "eq", "Analyst")),
+                null,
+                List.of("count", "sum(salary)", "min(salary)"),
+                null,
+                null));
+
+        assertEquals(1, result.getGroups().size());
+        assertEquals(Map.of(), result.getGroups().get(0).getKey());
+        assertEquals(1L, result.getGroups().get(0).getValues().get("count"));
+        assertEquals(0L, result.getGroups().get(0).getValues().get("sum(salary)"));
+        assertNull(result.getGroups().get(0).getValues().get("min(salary)"));
+    }
+
+    @Test
+    void testMissingValuesNeverMatchAndSortLast() {
+        RosterQueryResult sentinel = run(new RosterQuery(
+                List.of(condition("salary", "eq", String.valueOf(Integer.MIN_VALUE))), null, null, null, null));
+        assertEquals(0, sentinel.getMatched());
+
+        RosterQueryResult ascending = run(new RosterQuery(null, null, null, List.of("salary asc"), null));
+        assertEquals("Jon Snow", names(ascending).get(0));
+        assertEquals("Dee Null", names(ascending).get(4));
+        RosterQueryResult descending = run(new RosterQuery(null, null, null, List.of("age desc", "name"), null));
+        assertEquals("Jane Smithers", names(descending).get(0));
+        assertEquals("Dee Null", names(descending).get(4));
+
+        RosterQueryResult groups = run(new RosterQuery(
+                null, List.of("title"), List.of("min(salary)", "sum(age)"), List.of("min(salary) desc"), null));
+        assertEquals(
+                List.of("Manager", "Engineer", "Analyst"),
+                groups.getGroups().stream()
+                        .map(group -> group.getKey().get("title"))
+                        .toList());
+    }
+
+    @Test
+    void testIndexedConditionsDriveTheScan() {
+        RosterQueryResult matched = run(new RosterQuery(
+                List.of(condition("salary", "gt", 50000), condition("name", "match", "smith")),
+                null,
+                null,
+                null,
+                null));
+        assertTrue(matched.getPlan().getAccessPath().startsWith("index: name match"));
+        assertEquals(List.of("John Smith", "Jane Smithers"), names(matched));
+
+        RosterQueryResult byId =
+                run(new RosterQuery(List.of(condition("id", "in", List.of("c", "z"))), null, null, null, null));
+        assertEquals(List.of("Jon Snow"), names(byId));
+    }
+
+    @Test
+    void testUnknownTitleSkipsTheScan() {
+        RosterQueryResult result =
+                run(new RosterQuery(List.of(condition("title", "eq", "Astronaut")), null, null, null, null));
+
+        assertEquals(0, result.getMatched());
+        assertTrue(result.getPlan().getSteps().get(0).detail().startsWith("no row can match"));
+    }
+
+    @Test
+    void testRejectsMalformedQueries() {
+        assertThrows(InvalidQueryException.class, () -> engine.prepare(query(condition("salary", "contains", "9"))));
+        assertThrows(InvalidQueryException.class, () -> engine.prepare(query(condition("age", "between", List.of(5)))));
+        assertThrows(InvalidQueryException.class, () -> engine.prepare(query(condition("height", "eq", 1))));
+        assertThrows(InvalidQueryException.class, () -> engine.prepare(query(condition("salary", "eq", "lots"))));
+        assertThrows(
+                InvalidQueryException.class,
+                () -> engine.prepare(new RosterQuery(null, List.of("name"), null, null, null)));
+        assertThrows(
+                InvalidQueryException.class,
+                () -> engine.prepare(new RosterQuery(null, List.of("title"), null, List.of("salary"), null)));
+    }
+
+    private RosterQueryResult run(RosterQuery query) {
+        return engine.execute(SNAPSHOT, engine.prepare(query));
+    }
+
+    private static RosterQuery query(RosterQuery.Condition condition) {
+        return new RosterQuery(List.of(condition), null, null, null, null);
+    }
+
+    private static RosterQuery.Condition condition(String field, String op, Object value) {
+        return new RosterQuery.Condition(field, op, value);
+    }
+
+    private static List<String> names(RosterQueryResult result) {
+        return result.getEmployees().stream().map(EmployeeDTO::getName).toList();
+    }
+
+    private static EmployeeDTO employee(String id, String name, Integer salary, Integer age, String title) {
+        return new EmployeeDTO(id, name, salary, age, title, null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.client.EmployeeWebClient;
+import com.reliaquest.api.exception.EmployeeCreationException;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.query.RosterQueryEngine;
+import com.reliaquest.api.state.LocalSharedStateStore;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class EmployeeServiceTest {
+
+    private final EmployeeWebClient client = Mockito.mock(EmployeeWebClient.class);
+    private final EmployeeInput input = new EmployeeInput("Ann", 100, 30, "Engineer");
+    private final EmployeeDTO created = new EmployeeDTO("1", "Ann", 100, 30, "Engineer", "ann@company.com");
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private EmployeeService service;
+
+    @BeforeEach
+    void setup() {
+        service = new EmployeeService(
+                client,
+                new LocalSharedStateStore(),
+                Mockito.mock(RosterSnapshotService.class),
+                Mockito.mock(RosterQueryEngine.class),
+                new SalaryStatistics());
+        ReflectionTestUtils.setField(service, "idempotencyTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "idempotencyClaimTtl", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testConcurrentCreatesWithOneKeyReachUpstreamOnce() {
+        Sinks.One<EmployeeDTO> upstream = Sinks.one();
+        upstreamAnswers(upstream.asMono());
+        AtomicReference<EmployeeDTO> first = new AtomicReference<>();
+        service.createEmployee("key", input).subscribe(first::set);
+
+        StepVerifier.create(service.createEmployee("key", input))
+                .expectErrorSatisfies(
+                        ex -> assertEquals(HttpStatus.CONFLICT, ((EmployeeCreationException) ex).getStatus()))
+                .verify();
+        upstream.tryEmitValue(created);
+
+        assertEquals(created, first.get());
+        StepVerifier.create(service.createEmployee("key", input))
+                .expectNext(created)
+                .verifyComplete();
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testFailedCreateReleasesItsKey() {
+        upstreamAnswers(Mono.error(new IllegalStateException("upstream down")));
+        StepVerifier.create(service.createEmployee("key", input))
+                .expectNextMatches(fallback -> fallback.getId().startsWith("fallback-"))
+                .verifyComplete();
+
+        upstreamAnswers(Mono.just(created));
+        StepVerifier.create(service.createEmployee("key", input))
+                .expectNext(created)
+                .verifyComplete();
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private void upstreamAnswers(Mono<EmployeeDTO> answer) {
+        Mockito.when(client.createEmployee(input, "key"))
+                .thenReturn(answer.doOnSubscribe(s -> upstreamCalls.incrementAndGet()));
+    }
+}
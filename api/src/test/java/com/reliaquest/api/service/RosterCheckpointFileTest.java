@@ -0,0 +1,92 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RosterCheckpointFileTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void testRoundTripKeepsEveryField() throws IOException {
+        RosterCheckpointFile file = new RosterCheckpointFile(dir.resolve("roster.bin"));
+        List<EmployeeDTO> roster = List.of(
+                new EmployeeDTO(UUID.randomUUID().toString(), "Zoë Ångström", 120_000, 41, "Engineer", "zoe@x.com"),
+                new EmployeeDTO(UUID.randomUUID().toString(), "Bob", null, null, null, null),
+                new EmployeeDTO(UUID.randomUUID().toString(), "", 0, 16, "Engineer", ""));
+        Instant savedAt = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        file.write(roster, savedAt);
+        RosterCheckpointFile.Checkpoint checkpoint = file.read().orElseThrow();
+
+        assertEquals(savedAt, checkpoint.savedAt());
+        assertEquals(roster, checkpoint.roster());
+    }
+
+    @Test
+    void testRewriteReplacesCheckpoint() throws IOException {
+        RosterCheckpointFile file = new RosterCheckpointFile(dir.resolve("roster.bin"));
+        file.write(roster(1000), Instant.now());
+        List<EmployeeDTO> smaller = roster(10);
+
+        file.write(smaller, Instant.now());
+
+        assertEquals(smaller, file.read().orElseThrow().roster());
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testMissingFileIsNoCheckpoint() throws IOException {
+        assertTrue(new RosterCheckpointFile(dir.resolve("none.bin")).read().isEmpty());
+    }
+
+    @Test
+    void testCorruptFileIsRejected() throws IOException {
+        Path path = dir.resolve("roster.bin");
+        new RosterCheckpointFile(path).write(roster(100), Instant.now());
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> new RosterCheckpointFile(path).read());
+
+        Files.write(path, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> new RosterCheckpointFile(path).read());
+    }
+
+    @Test
+    void testNonUuidIdsAreNotCheckpointed() {
+        RosterCheckpointFile file = new RosterCheckpointFile(dir.resolve("roster.bin"));
+        List<EmployeeDTO> roster = List.of(new EmployeeDTO("0", "Fallback Employee", 0, 0, "N/A", "f@x.com"));
+
+        assertThrows(IllegalArgumentException.class, () -> file.write(roster, Instant.now()));
+        assertTrue(Files.notExists(dir.resolve("roster.bin")));
+    }
+
+    private static List<EmployeeDTO> roster(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new EmployeeDTO(
+                        new UUID(i, i * 31L).toString(),
+                        "Employee " + i,
+                        30_000 + i,
+                        20 + i % 50,
+                        "Title " + i % 7,
+                        "e" + i + "@company.com"))
+                .toList();
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.client.EmployeeWebClient;
+import com.reliaquest.api.client.RosterRead;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RosterCheckpointTest {
+
+    @TempDir
+    private Path dir;
+
+    private final EmployeeWebClient client = Mockito.mock(EmployeeWebClient.class);
+    private final SalaryStatistics salaryStatistics = new SalaryStatistics();
+    private final List<EmployeeDTO> checkpointed = List.of(employee("Ann", 100), employee("Bob", 200));
+
+    private RosterCheckpoint checkpoint;
+
+    @BeforeEach
+    void setup() {
+        checkpoint = new RosterCheckpoint(client, new RosterSnapshotService(), salaryStatistics);
+        ReflectionTestUtils.setField(checkpoint, "enabled", true);
+        ReflectionTestUtils.setField(checkpoint, "file", dir.resolve("roster.bin"));
+        ReflectionTestUtils.setField(checkpoint, "interval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(checkpoint, "warmTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(checkpoint, "maxAge", Duration.ofHours(1));
+        Mockito.when(client.refreshRoster()).thenReturn(Mono.empty());
+    }
+
+    @AfterEach
+    void teardown() {
+        checkpoint.close();
+    }
+
+    @Test
+    void testRecentCheckpointIsServedAtOnce() throws IOException {
+        saved(Instant.now().minus(Duration.ofMinutes(5)));
+
+        checkpoint.restore();
+
+        Mockito.verify(client).warmStart(checkpointed, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testCheckpointOlderThanMaxAgeIsIgnored() throws IOException {
+        saved(Instant.now().minus(Duration.ofHours(2)));
+
+        checkpoint.restore();
+
+        Mockito.verify(client, Mockito.never()).warmStart(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testReconcileReplacesCheckpointWithAuthoritativeRoster() {
+        List<EmployeeDTO> upstream = List.of(employee("Ann", 100), employee("Cat", 300), employee("Dan", 400));
+        Mockito.when(client.refreshRoster()).thenReturn(Mono.just(new RosterRead(upstream, true)));
+
+        StepVerifier.create(checkpoint.reconcile(checkpointed))
+                .expectNextMatches(snapshot -> snapshot.source().equals(upstream))
+                .verifyComplete();
+        assertEquals(3, salaryStatistics.current().count());
+    }
+
+    @Test
+    void testReconcileKeepsCheckpointWhenUpstreamIsNotAuthoritative() {
+        Mockito.when(client.refreshRoster())
+                .thenReturn(Mono.just(new RosterRead(List.of(employee("Cat", 300)), false)));
+
+        StepVerifier.create(checkpoint.reconcile(checkpointed)).verifyComplete();
+        assertEquals(2, salaryStatistics.current().count());
+    }
+
+    private void saved(Instant savedAt) throws IOException {
+        new RosterCheckpointFile(dir.resolve("roster.bin")).write(checkpointed, savedAt);
+    }
+
+    private static EmployeeDTO employee(String name, int salary) {
+        return new EmployeeDTO(
+                UUID.nameUUIDFromBytes(name.getBytes()).toString(), name, salary, 30, "Engineer", name + "@x.com");
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RosterSnapshotTest {
+
+    private final RosterSnapshot snapshot = RosterSnapshot.of(List.of(
+            employee("John Smith"),
+            employee("Johnny Appleseed"),
+            employee("Jane Smithers"),
+            employee("Mary-Jane Watson"),
+            employee("Jon Snow"),
+            employee("Major Tom")));
+
+    @Test
+    void testRankedMatchesComeFirstThenSubstringMatches() {
+        // "jo" is too short for an infix match in the index, so "Major Tom" comes from the scan
+        assertEquals(
+                List.of("Jon Snow", "John Smith", "Johnny Appleseed", "Major Tom"),
+                names(snapshot.search("jo", 10, false)));
+        assertEquals(List.of("John Smith", "Jon Snow"), names(snapshot.search("n s", 10, false)));
+        assertEquals(List.of("Mary-Jane Watson"), names(snapshot.search("y-j", 10, false)));
+    }
+
+    @Test
+    void testSubstringMatchesAreCappedUnlessEveryMatchIsAsked() {
+        assertEquals(List.of("Mary-Jane Watson"), names(snapshot.search("watsno", 10, false)));
+
+        RosterSnapshot large = RosterSnapshot.of(
+                IntStream.range(0, 120).mapToObj(i -> employee("Employee " + i)).toList());
+        assertEquals(10, large.search("ploy", 10, false).size());
+        assertEquals(10, large.search("e", 10, false).size());
+        assertEquals(120, large.search("ploy", 10, true).size());
+        assertEquals(120, large.search("e", 10, true).size());
+    }
+
+    @Test
+    void testSubstringMatchesIgnoreAccents() {
+        RosterSnapshot accented =
+                RosterSnapshot.of(List.of(employee("José Álvarez"), employee("Ann Lee"), employee("Zoë Ångström")));
+
+        assertEquals(List.of("José Álvarez"), names(accented.search("jose", 10, false)));
+        assertEquals(List.of("José Álvarez"), names(accented.search("se al", 10, false)));
+        assertEquals(List.of("Zoë Ångström"), names(accented.search("oe angs", 10, true)));
+    }
+
+    @Test
+    void testSnapshotBelongsToItsOwnList() {
+        List<EmployeeDTO> employees = snapshot.source();
+
+        assertTrue(snapshot.isOf(employees));
+        assertFalse(snapshot.isOf(new ArrayList<>(employees)));
+    }
+
+    private static List<String> names(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getName).toList();
+    }
+
+    private static EmployeeDTO employee(String name) {
+        return new EmployeeDTO(UUID.randomUUID().toString(), name, 100, 30, "Engineer", "e@company.com");
+    }
+}
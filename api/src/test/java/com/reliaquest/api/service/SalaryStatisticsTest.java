@@ -0,0 +1,105 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.reliaquest.api.client.RosterRead;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.SalaryHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SalaryStatisticsTest {
+
+    private final SalaryStatistics statistics = new SalaryStatistics();
+
+    @Test
+    void testPercentilesAndHistogramOfObservedRoster() {
+        SalaryDistribution distribution = statistics.observe(roster(10_000, 20_000, 30_000, 40_000, 130_000));
+
+        assertEquals(5, distribution.count());
+        assertEquals(
+                Map.of("p50", 30_000, "p90", 130_000, "p99", 130_000),
+                distribution.percentiles(List.of(50.0, 90.0, 99.0)).getPercentiles());
+        assertEquals(20_000, distribution.percentile(40));
+        SalaryHistogram histogram = distribution.histogram();
+        assertEquals(2, histogram.getBuckets().get(0).getCount());
+        assertEquals(2, histogram.getBuckets().get(1).getCount());
+        assertEquals(1, histogram.getBuckets().get(5).getCount());
+    }
+
+    @Test
+    void testUnchangedRosterReusesPublishedDistribution() {
+        List<EmployeeDTO> roster = roster(10_000, 20_000);
+        SalaryDistribution first = statistics.observe(roster);
+
+        assertSame(first, statistics.observe(new ArrayList<>(roster)));
+    }
+
+    @Test
+    void testWritesAndRosterDiffsUpdateIncrementally() {
+        statistics.observe(roster(10_000, 20_000, 30_000));
+        statistics.added(employee("new", 90_000));
+        statistics.removed("e0");
+
+        SalaryDistribution distribution = statistics.current();
+        assertEquals(3, distribution.count());
+        assertEquals(20_000, distribution.percentile(1));
+        assertEquals(90_000, distribution.percentile(100));
+        assertEquals(1, distribution.histogram().getBuckets().get(0).getCount());
+
+        List<EmployeeDTO> next = new ArrayList<>(roster(10_000, 25_000));
+        distribution = statistics.observe(next);
+        assertEquals(2, distribution.count());
+        assertEquals(25_000, distribution.percentile(100));
+    }
+
+    @Test
+    void testOnlyAuthoritativeReadsReconcile() {
+        statistics.observe(new RosterRead(roster(10_000, 20_000, 30_000), true));
+        statistics.added(employee("new", 90_000));
+
+        SalaryDistribution distribution = statistics.observe(new RosterRead(roster(10_000, 20_000), false));
+        assertEquals(4, distribution.count(), "a stale or partial roster must not roll writes back");
+
+        distribution = statistics.observe(new RosterRead(roster(10_000), true));
+        assertEquals(1, distribution.count());
+    }
+
+    @Test
+    void testManyRemovalsKeepPercentilesAccurate() {
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            roster.add(employee("e" + i, i));
+        }
+        statistics.observe(roster);
+        for (int i = 0; i < 10_000; i++) {
+            statistics.removed("e" + i);
+        }
+
+        SalaryDistribution distribution = statistics.current();
+        assertEquals(10_000, distribution.count());
+        int median = distribution.percentile(50);
+        assertEquals(15_000, median, 300);
+    }
+
+    @Test
+    void testEmptyRosterHasNoPercentiles() {
+        assertNull(statistics.observe(List.of()).percentile(50));
+    }
+
+    private static List<EmployeeDTO> roster(int... salaries) {
+        List<EmployeeDTO> roster = new ArrayList<>();
+        for (int i = 0; i < salaries.length; i++) {
+            roster.add(employee("e" + i, salaries[i]));
+        }
+        return roster;
+    }
+
+    private static EmployeeDTO employee(String id, int salary) {
+        return new EmployeeDTO(id, "Employee " + id, salary, 30, "Engineer", null);
+    }
+}
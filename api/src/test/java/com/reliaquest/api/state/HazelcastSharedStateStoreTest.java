@@ -0,0 +1,78 @@
+package com.reliaquest.api.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/** Two embedded members in one JVM standing in for two api replicas. */
+class HazelcastSharedStateStoreTest {
+
+    private static HazelcastInstance first;
+    private static HazelcastInstance second;
+
+    @BeforeAll
+    static void startCluster() {
+        first = Hazelcast.newHazelcastInstance(config());
+        second = Hazelcast.newHazelcastInstance(config());
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        second.shutdown();
+        first.shutdown();
+    }
+
+    @Test
+    void testReplicasShareEntries() {
+        SharedStateStore a = new HazelcastSharedStateStore(first);
+        SharedStateStore b = new HazelcastSharedStateStore(second);
+        ArrayList<EmployeeDTO> roster =
+                new ArrayList<>(List.of(new EmployeeDTO("1", "Ann", 100, 30, "Engineer", "ann@company.com")));
+
+        a.put("roster", "fresh", roster, Duration.ofMinutes(1));
+        assertEquals(Optional.of(roster), b.get("roster", "fresh"));
+
+        assertNull(b.putIfAbsent("idempotency", "key", "created", Duration.ofMinutes(1)));
+        assertEquals("created", a.putIfAbsent("idempotency", "key", "again", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testReplicasShareBudget() {
+        SharedStateStore a = new HazelcastSharedStateStore(first);
+        SharedStateStore b = new HazelcastSharedStateStore(second);
+        Duration window = Duration.ofHours(1);
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            admitted += a.tryAcquire("upstream", 6, window) ? 1 : 0;
+            admitted += b.tryAcquire("upstream", 6, window) ? 1 : 0;
+        }
+        assertEquals(6, admitted);
+    }
+
+    private static Config config() {
+        Config config = new Config();
+        config.setClusterName("shared-state-test");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5801).setPortAutoIncrement(true);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getNetworkConfig()
+                .getJoin()
+                .getTcpIpConfig()
+                .setEnabled(true)
+                .addMember("127.0.0.1:5801")
+                .addMember("127.0.0.1:5802");
+        return config;
+    }
+}
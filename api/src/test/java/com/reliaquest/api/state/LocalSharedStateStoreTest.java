@@ -0,0 +1,42 @@
+package com.reliaquest.api.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class LocalSharedStateStoreTest {
+
+    private final LocalSharedStateStore store = new LocalSharedStateStore();
+
+    @Test
+    void testEntriesExpire() throws InterruptedException {
+        store.put("ns", "short", "a", Duration.ofMillis(20));
+        store.put("ns", "long", "b", Duration.ofMinutes(1));
+        Thread.sleep(40);
+        assertEquals(Optional.empty(), store.get("ns", "short"));
+        assertEquals(Optional.of("b"), store.get("ns", "long"));
+        assertEquals(Optional.empty(), store.get("other", "long"));
+    }
+
+    @Test
+    void testPutIfAbsentReturnsExisting() {
+        assertNull(store.putIfAbsent("ns", "key", "first", Duration.ofMinutes(1)));
+        assertEquals("first", store.putIfAbsent("ns", "key", "second", Duration.ofMinutes(1)));
+        store.remove("ns", "key");
+        assertNull(store.putIfAbsent("ns", "key", "third", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testBudgetPerWindow() {
+        Duration window = Duration.ofHours(1);
+        assertTrue(store.tryAcquire("upstream", 2, window));
+        assertTrue(store.tryAcquire("upstream", 2, window));
+        assertFalse(store.tryAcquire("upstream", 2, window));
+        assertTrue(store.tryAcquire("other", 2, window));
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class UpstreamBudgetTest {
+
+    private final AtomicInteger storeCalls = new AtomicInteger();
+
+    private final SharedStateStore store = new LocalSharedStateStore() {
+        @Override
+        public CompletionStage<Long> tryAcquire(String budget, long permits, long limit, Duration window) {
+            storeCalls.incrementAndGet();
+            return super.tryAcquire(budget, permits, limit, window);
+        }
+    };
+
+    @Test
+    void testPermitsAreTakenFromTheStoreInBatches() {
+        UpstreamBudget budget = new UpstreamBudget(store, "upstream", 10, Duration.ofHours(1), 4);
+
+        int admitted = 0;
+        for (int i = 0; i < 20; i++) {
+            admitted += budget.acquire().block() ? 1 : 0;
+        }
+
+        assertEquals(10, admitted);
+        assertEquals(3, storeCalls.get());
+    }
+
+    @Test
+    void testReplicasShareTheLimit() {
+        UpstreamBudget a = new UpstreamBudget(store, "upstream", 6, Duration.ofHours(1), 2);
+        UpstreamBudget b = new UpstreamBudget(store, "upstream", 6, Duration.ofHours(1), 2);
+
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            admitted += a.acquire().block() ? 1 : 0;
+            admitted += b.acquire().block() ? 1 : 0;
+        }
+
+        assertEquals(6, admitted);
+    }
+
+    @Test
+    void testWaitingForABatchDoesNotHoldTheCaller() {
+        CompletableFuture<Long> batch = new CompletableFuture<>();
+        SharedStateStore slow = new LocalSharedStateStore() {
+            @Override
+            public CompletionStage<Long> tryAcquire(String budget, long permits, long limit, Duration window) {
+                return batch;
+            }
+        };
+        UpstreamBudget budget = new UpstreamBudget(slow, "upstream", 10, Duration.ofHours(1), 4);
+        AtomicReference<Boolean> acquired = new AtomicReference<>();
+
+        budget.acquire().subscribe(acquired::set);
+        assertNull(acquired.get());
+
+        batch.complete(4L);
+        assertEquals(Boolean.TRUE, acquired.get());
+    }
+
+    @Test
+    void testReleasedPermitIsReused() {
+        UpstreamBudget budget = new UpstreamBudget(store, "upstream", 1, Duration.ofHours(1), 1);
+
+        assertTrue(budget.acquire().block());
+        assertFalse(budget.acquire().block());
+        int callsBeforeRelease = storeCalls.get();
+        budget.release();
+
+        assertTrue(budget.acquire().block());
+        assertEquals(callsBeforeRelease, storeCalls.get());
+    }
+}
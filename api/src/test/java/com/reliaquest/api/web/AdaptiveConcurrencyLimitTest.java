@@ -0,0 +1,47 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void testLowPriorityIsShedFirst() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, Duration.ofSeconds(1), 0.5);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(limit.tryAcquire(0.7));
+        }
+        assertFalse(limit.tryAcquire(0.7));
+        assertTrue(limit.tryAcquire(1.0));
+    }
+
+    @Test
+    void testSlowCompletionShrinksLimitOncePerTarget() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, Duration.ofSeconds(1), 0.5);
+        long slow = Duration.ofSeconds(2).toNanos();
+        limit.tryAcquire(1.0);
+        limit.release(slow);
+        limit.tryAcquire(1.0);
+        limit.release(slow);
+        assertEquals(5, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void testFastCompletionsGrowLimitUnderLoad() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 100, Duration.ofSeconds(1), 0.5);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < limit.getLimit(); i++) {
+                limit.tryAcquire(1.0);
+            }
+            while (limit.getInFlight() > 0) {
+                limit.release(Duration.ofMillis(1).toNanos());
+            }
+        }
+        assertTrue(limit.getLimit() > 4);
+    }
+}
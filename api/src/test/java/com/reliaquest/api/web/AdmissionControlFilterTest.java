@@ -0,0 +1,86 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.client.EmployeeOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AdaptiveConcurrencyLimit limit =
+            new AdaptiveConcurrencyLimit(2, 1, 100, Duration.ofMillis(1500), 0.5);
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(limit, meterRegistry);
+
+    @Test
+    void testEndpointClassification() {
+        assertEquals(EmployeeOperation.SEARCH, operationOf("GET", "/api"));
+        assertEquals(EmployeeOperation.SEARCH, operationOf("GET", "/api/search/doe"));
+        assertEquals(EmployeeOperation.AGGREGATE, operationOf("GET", "/api/highestSalary"));
+        assertEquals(EmployeeOperation.READ, operationOf("GET", "/api/c290df07-d253-4fec-b3fc-0630ab2e479d"));
+        assertEquals(EmployeeOperation.WRITE, operationOf("DELETE", "/api/c290df07-d253-4fec-b3fc-0630ab2e479d"));
+        assertEquals(EmployeeOperation.AGGREGATE, operationOf("POST", "/api/query"));
+        assertEquals(EmployeeOperation.AGGREGATE, operationOf("GET", "/api/salary/percentiles"));
+    }
+
+    @Test
+    void testRequestOverTheLimitIsShedWithRetryAfter() throws ServletException, IOException {
+        assertTrue(limit.tryAcquire(1.0));
+        assertTrue(limit.tryAcquire(1.0));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/highestSalary"), response, chain);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("api.admission.rejected", "operation", "aggregate")
+                        .count());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void testAdmittedRequestReleasesItsSlot() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/highestSalary"), response, chain);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, limit.getInFlight());
+
+        assertThrows(
+                ServletException.class,
+                () -> filter.doFilter(
+                        new MockHttpServletRequest("POST", "/api"),
+                        new MockHttpServletResponse(),
+                        (request, ignored) -> {
+                            throw new ServletException("handler failed");
+                        }));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private static EmployeeOperation operationOf(String method, String uri) {
+        return AdmissionControlFilter.operationOf(new MockHttpServletRequest(method, uri));
+    }
+}
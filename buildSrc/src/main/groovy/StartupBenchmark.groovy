@@ -0,0 +1,97 @@
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.provider.MapProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.Nested
+import org.gradle.api.tasks.TaskAction
+import org.gradle.jvm.toolchain.JavaLauncher
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Starts the application once per run in each mode and reports the time from launching the JVM to the first 200 on
+ * {@code probePath}: what a caller waiting on a fresh instance sees, rather than what the startup log claims.
+ */
+abstract class StartupBenchmark extends DefaultTask {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(180)
+
+    @Nested
+    abstract Property<JavaLauncher> getLauncher()
+
+    /** Mode name to the JVM arguments that start it, e.g. {@code ['-jar', 'build/libs/app.jar']}. */
+    @Input
+    abstract MapProperty<String, List<String>> getModes()
+
+    @Input
+    abstract Property<String> getProbePath()
+
+    @Input
+    abstract Property<Integer> getRuns()
+
+    @Internal
+    abstract DirectoryProperty getWorkDir()
+
+    StartupBenchmark() {
+        outputs.upToDateWhen { false }
+    }
+
+    @TaskAction
+    void measure() {
+        def dir = workDir.get().asFile
+        dir.mkdirs()
+        def results = modes.get().collectEntries { mode, args ->
+            [(mode): (1..runs.get()).collect { run -> firstRequestMillis(mode, args, new File(dir, "${mode}-${run}.log")) }]
+        }
+        results.each { mode, millis ->
+            def sorted = millis.sort(false)
+            logger.lifecycle(String.format('%-10s first request after %6d ms median, %6d ms min (%d runs)',
+                    mode, sorted[sorted.size().intdiv(2)], sorted[0], sorted.size()))
+        }
+    }
+
+    protected long firstRequestMillis(String mode, List<String> args, File log) {
+        int port = new ServerSocket(0).withCloseable { it.localPort }
+        def command = [launcher.get().executablePath.asFile.absolutePath] + args + ["--server.port=${port}".toString()]
+        def probe = new URL("http://127.0.0.1:${port}${probePath.get()}")
+        long started = System.nanoTime()
+        def process = new ProcessBuilder(command)
+                .directory(workDir.get().asFile)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start()
+        try {
+            while (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < TIMEOUT_MILLIS) {
+                if (!process.alive) {
+                    throw new GradleException("${mode} exited with ${process.exitValue()}, see ${log}")
+                }
+                if (ok(probe)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)
+                }
+                Thread.sleep(10)
+            }
+            throw new GradleException("${mode} did not answer ${probe} within ${TIMEOUT_MILLIS} ms, see ${log}")
+        } finally {
+            process.destroy()
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly()
+            }
+        }
+    }
+
+    protected static boolean ok(URL probe) {
+        def connection = (HttpURLConnection) probe.openConnection()
+        connection.connectTimeout = 1000
+        connection.readTimeout = 10000
+        try {
+            return connection.responseCode == 200
+        } catch (IOException ignored) {
+            return false // not listening yet
+        } finally {
+            connection.disconnect()
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.roster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Scans and aggregates over the columnar roster versus a list of row objects shaped like {@code MockEmployee}. Run
+ * with {@code ./gradlew roster:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnarRosterBenchmark {
+
+    @Param({"1000000"})
+    private int rosterSize;
+
+    private ColumnarRoster roster;
+    private List<Row> rows;
+    private int engineerCode;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] titles = {"Engineer", "Manager", "Analyst", "Designer", "Director"};
+        roster = new ColumnarRoster(rosterSize);
+        rows = new ArrayList<>(rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            String name = "Employee " + i;
+            Integer salary = random.nextInt(30000, 500000);
+            Integer age = random.nextInt(16, 70);
+            String title = titles[random.nextInt(titles.length)];
+            String email = "employee" + i + "@company.com";
+            roster.add(id, name, salary, age, title, email);
+            rows.add(new Row(id, name, salary, age, title, email));
+        }
+        engineerCode = roster.titles().codeOf("Engineer");
+        System.out.printf("%n[roster] employees=%d columnar heap ~%d MB%n", rosterSize, roster.heapBytes() >> 20);
+    }
+
+    @Benchmark
+    public int maxSalaryColumnar() {
+        return roster.maxSalary();
+    }
+
+    @Benchmark
+    public int maxSalaryRows() {
+        int max = Integer.MIN_VALUE;
+        for (Row row : rows) {
+            max = Math.max(max, row.salary());
+        }
+        return max;
+    }
+
+    @Benchmark
+    public int engineersInBandColumnar() {
+        return roster.filter(row -> roster.titleCode(row) == engineerCode
+                        && roster.salary(row) >= 100000
+                        && roster.salary(row) <= 200000)
+                .length;
+    }
+
+    @Benchmark
+    public long engineersInBandRows() {
+        return rows.stream()
+                .filter(row -> "Engineer".equals(row.title()) && row.salary() >= 100000 && row.salary() <= 200000)
+                .count();
+    }
+
+    @Benchmark
+    public int[] top10Columnar() {
+        return roster.topBySalary(10);
+    }
+
+    private record Row(UUID id, String name, Integer salary, Integer age, String title, String email) {}
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.roster;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ranked name search through {@link NameIndex} versus the lower-cased {@code contains} scan it replaces, over a roster
+ * of generated two-part names. Run with {@code ./gradlew roster:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "an", "bel", "car", "da", "el", "fin", "gar", "ha", "is", "jo", "ka", "lin", "mar", "no", "ol", "per", "qui",
+        "ro", "sa", "ter", "ul", "ve", "wen", "xa", "yo", "zel"
+    };
+
+    @Param({"1000000"})
+    private int rosterSize;
+
+    @Param({"marno", "mar", "arno", "marnp", "marno terda"})
+    private String query;
+
+    private String[] names;
+    private NameIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] first = words(random, 2_000);
+        String[] last = words(random, 20_000);
+        names = new String[rosterSize];
+        for (int i = 0; i < rosterSize; i++) {
+            names[i] = first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)];
+        }
+        long started = System.nanoTime();
+        index = NameIndex.of(rosterSize, row -> names[row]);
+        System.out.printf(
+                "%n[search] employees=%d terms=%d index ~%d MB built in %d ms%n",
+                rosterSize,
+                index.terms(),
+                index.heapBytes() >> 20,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static String[] words(Random random, int count) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+        return words;
+    }
+
+    @Benchmark
+    public List<NameIndex.Hit> indexSearch() {
+        return index.search(query, 50);
+    }
+
+    @Benchmark
+    public int containsScan() {
+        String fragment = query.toLowerCase();
+        int matches = 0;
+        for (String name : names) {
+            if (name.toLowerCase().contains(fragment)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.roster;
+
+import java.util.Arrays;
+
+/**
+ * Burkhard-Keller tree over the terms of a {@link NameIndex}, for "all terms within {@code k} edits" lookups. Each
+ * child hangs off its parent under its Levenshtein distance to it, so by the triangle inequality a query at distance
+ * {@code d} from a node only has to descend into children with edges in {@code [d - k, d + k]}. Nodes are term ids in
+ * flat first-child/next-sibling arrays.
+ */
+final class BkTree {
+
+    private final String[] terms;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edge;
+    private final int root;
+
+    BkTree(String[] terms) {
+        this.terms = terms;
+        firstChild = new int[terms.length];
+        nextSibling = new int[terms.length];
+        edge = new int[terms.length];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        root = terms.length == 0 ? -1 : 0;
+        for (int term = 1; term < terms.length; term++) {
+            insert(term);
+        }
+    }
+
+    private void insert(int term) {
+        int node = root;
+        while (true) {
+            int distance = distance(terms[term], terms[node]);
+            int child = firstChild[node];
+            while (child >= 0 && edge[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child < 0) {
+                edge[term] = distance;
+                nextSibling[term] = firstChild[node];
+                firstChild[node] = term;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /** Receives a term found by {@link #search} with its distance to the query. */
+    @FunctionalInterface
+    interface Match {
+        void accept(int term, int edits);
+    }
+
+    /** Calls {@code consumer} with the id of every term within {@code maxEdits} of {@code query}, and its distance. */
+    void search(String query, int maxEdits, Match consumer) {
+        if (root < 0) {
+            return;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(query, terms[node]);
+            if (distance <= maxEdits) {
+                consumer.accept(node, distance);
+            }
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                if (Math.abs(edge[child] - distance) <= maxEdits) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    /** Levenshtein distance over two rolling rows. */
+    static int distance(String a, String b) {
+        int n = b.length();
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+}
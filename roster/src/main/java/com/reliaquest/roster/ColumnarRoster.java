@@ -0,0 +1,263 @@
+package com.reliaquest.roster;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Employee roster stored column by column: primitive {@code int[]} salaries and ages, dictionary-encoded titles, ids
+ * packed into two {@code long[]}s and names/emails in UTF-8 arenas. Aggregates and filters scan flat arrays instead
+ * of chasing one object per employee.
+ *
+ * <p>Rows are dense in {@code [0, size())}; {@link #remove(int)} moves the last row into the freed slot, so row
+ * numbers are only stable until the next removal. Not thread-safe: owners either confine it to one writer behind a
+ * lock or treat a fully built instance as an immutable snapshot.
+ */
+public final class ColumnarRoster {
+
+    /** Stored for a missing salary or age; skipped by aggregates. */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private long[] idMsbs;
+    private long[] idLsbs;
+    private int[] salaries;
+    private int[] ages;
+    private int[] titleCodes;
+    private final StringColumn names;
+    private final StringColumn emails;
+    private final TitleDictionary titles = new TitleDictionary();
+    private final UuidIndex index;
+    private int size;
+
+    public ColumnarRoster() {
+        this(16);
+    }
+
+    public ColumnarRoster(int expectedRows) {
+        int capacity = Math.max(1, expectedRows);
+        idMsbs = new long[capacity];
+        idLsbs = new long[capacity];
+        salaries = new int[capacity];
+        ages = new int[capacity];
+        titleCodes = new int[capacity];
+        names = new StringColumn(capacity);
+        emails = new StringColumn(capacity);
+        index = new UuidIndex(capacity);
+    }
+
+    /**
+     * Appends an employee, or overwrites the row already holding {@code id}.
+     *
+     * @return the row the employee now occupies
+     */
+    public int add(UUID id, String name, Integer salary, Integer age, String title, String email) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int row = index.get(msb, lsb);
+        if (row < 0) {
+            row = size;
+            ensureCapacity(size + 1);
+            size++;
+            idMsbs[row] = msb;
+            idLsbs[row] = lsb;
+            index.put(msb, lsb, row);
+        }
+        salaries[row] = salary == null ? NO_VALUE : salary;
+        ages[row] = age == null ? NO_VALUE : age;
+        titleCodes[row] = titles.encode(title);
+        names.set(row, name);
+        emails.set(row, email);
+        return row;
+    }
+
+    /** Removes {@code row}; the last row is moved into its slot. */
+    public void remove(int row) {
+        checkRow(row);
+        index.remove(idMsbs[row], idLsbs[row]);
+        int last = --size;
+        if (row != last) {
+            idMsbs[row] = idMsbs[last];
+            idLsbs[row] = idLsbs[last];
+            salaries[row] = salaries[last];
+            ages[row] = ages[last];
+            titleCodes[row] = titleCodes[last];
+            names.move(last, row);
+            emails.move(last, row);
+            index.put(idMsbs[row], idLsbs[row], row);
+        } else {
+            names.clear(row);
+            emails.clear(row);
+        }
+        names.compact(size);
+        emails.compact(size);
+    }
+
+    /** Row holding {@code id}, or {@code -1}. */
+    public int indexOf(UUID id) {
+        return index.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /** First row matching {@code predicate} in row order, or {@code -1}. */
+    public int findFirst(IntPredicate predicate) {
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public UUID id(int row) {
+        checkRow(row);
+        return new UUID(idMsbs[row], idLsbs[row]);
+    }
+
+    public long idMostSignificantBits(int row) {
+        checkRow(row);
+        return idMsbs[row];
+    }
+
+    public long idLeastSignificantBits(int row) {
+        checkRow(row);
+        return idLsbs[row];
+    }
+
+    public String name(int row) {
+        checkRow(row);
+        return names.get(row);
+    }
+
+    public String email(int row) {
+        checkRow(row);
+        return emails.get(row);
+    }
+
+    public int salary(int row) {
+        checkRow(row);
+        return salaries[row];
+    }
+
+    public int age(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public int titleCode(int row) {
+        checkRow(row);
+        return titleCodes[row];
+    }
+
+    public String title(int row) {
+        return titles.decode(titleCode(row));
+    }
+
+    public TitleDictionary titles() {
+        return titles;
+    }
+
+    public int maxSalary() {
+        int max = NO_VALUE;
+        for (int row = 0; row < size; row++) {
+            max = Math.max(max, salaries[row]);
+        }
+        return max;
+    }
+
+    public long sumSalaries() {
+        long sum = 0;
+        for (int row = 0; row < size; row++) {
+            int salary = salaries[row];
+            if (salary != NO_VALUE) {
+                sum += salary;
+            }
+        }
+        return sum;
+    }
+
+    /** Number of rows whose salary lies in {@code [min, max]}. */
+    public int countSalaryBetween(int min, int max) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int salary = salaries[row];
+            if (salary >= min && salary <= max) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Rows matching {@code predicate}, in row order. */
+    public int[] filter(IntPredicate predicate) {
+        int[] matches = new int[16];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(row)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Rows of the {@code limit} highest salaries, highest first; ties keep row order. Uses a bounded selection rather
+     * than sorting the whole column.
+     */
+    public int[] topBySalary(int limit) {
+        int k = Math.min(limit, size);
+        int[] top = new int[k];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int salary = salaries[row];
+            if (salary == NO_VALUE) {
+                continue;
+            }
+            if (count < k) {
+                int i = count++;
+                while (i > 0 && salaries[top[i - 1]] < salary) {
+                    top[i] = top[i - 1];
+                    i--;
+                }
+                top[i] = row;
+            } else if (k > 0 && salary > salaries[top[k - 1]]) {
+                int i = k - 1;
+                while (i > 0 && salaries[top[i - 1]] < salary) {
+                    top[i] = top[i - 1];
+                    i--;
+                }
+                top[i] = row;
+            }
+        }
+        return Arrays.copyOf(top, count);
+    }
+
+    /** Approximate heap held by the columns, for capacity planning and benchmarks. */
+    public long heapBytes() {
+        return 24L * salaries.length + names.heapBytes() + emails.heapBytes() + index.heapBytes();
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > salaries.length) {
+            int capacity = Math.max(rows, salaries.length + (salaries.length >> 1) + 1);
+            idMsbs = Arrays.copyOf(idMsbs, capacity);
+            idLsbs = Arrays.copyOf(idLsbs, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            titleCodes = Arrays.copyOf(titleCodes, capacity);
+        }
+        names.ensureRows(rows);
+        emails.ensureRows(rows);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " outside roster of " + size);
+        }
+    }
+}
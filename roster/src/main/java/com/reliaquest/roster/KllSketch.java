@@ -0,0 +1,190 @@
+package com.reliaquest.roster;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch over {@code int} values (Karnin, Lang and Liberty, 2016). Values enter level 0; when the sketch
+ * outgrows its capacity the lowest full level is sorted and every other value, starting at a random offset, moves up a
+ * level with twice the weight. Level capacities shrink geometrically (factor 2/3) from the top level, which holds
+ * {@code k} values, so memory stays {@code O(k)} however many values are added, and ranks are off by roughly
+ * {@code 1.7 / k} of the count.
+ *
+ * <p>Not thread-safe.
+ */
+public final class KllSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private final SplittableRandom random;
+    private int[][] levels = {new int[0]};
+    private int[] sizes = {0};
+    private int retained;
+    private int capacity;
+    private long count;
+
+    public KllSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    public KllSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private KllSketch(int k, SplittableRandom random) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8, got " + k);
+        }
+        this.k = k;
+        this.random = random;
+        this.capacity = levelCapacity(0);
+    }
+
+    public void update(int value) {
+        append(0, value);
+        count++;
+        retained++;
+        if (retained >= capacity) {
+            compress();
+        }
+    }
+
+    /** Number of values added. */
+    public long count() {
+        return count;
+    }
+
+    /** Number of values held; bounded by a small multiple of {@code k}. */
+    public int retained() {
+        return retained;
+    }
+
+    /** Estimated number of added values {@code <= value}. */
+    public long rank(int value) {
+        long rank = 0;
+        for (int level = 0; level < levels.length; level++) {
+            int[] items = levels[level];
+            for (int i = 0; i < sizes[level]; i++) {
+                if (items[i] <= value) {
+                    rank += 1L << level;
+                }
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Held values in ascending order with their cumulative weights: {@code values[i]} stands for
+     * {@code cumulativeWeights[i] - cumulativeWeights[i - 1]} added values. Weights sum to {@link #count()}.
+     */
+    public SortedView sortedView() {
+        int[] values = new int[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[n] = levels[level][i];
+                weights[n++] = 1L << level;
+            }
+        }
+        sortTogether(values, weights);
+        for (int i = 1; i < n; i++) {
+            weights[i] += weights[i - 1];
+        }
+        return new SortedView(values, weights);
+    }
+
+    /** Ascending values with cumulative weights, as produced by {@link #sortedView()}. */
+    public record SortedView(int[] values, long[] cumulativeWeights) {
+
+        public long totalWeight() {
+            return cumulativeWeights.length == 0 ? 0 : cumulativeWeights[cumulativeWeights.length - 1];
+        }
+
+        /** Summed weight of values {@code <= value}. */
+        public long rank(int value) {
+            int i = upperBound(values, value);
+            return i == 0 ? 0 : cumulativeWeights[i - 1];
+        }
+
+        private static int upperBound(int[] values, int value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private void append(int level, int value) {
+        int[] items = levels[level];
+        if (sizes[level] == items.length) {
+            levels[level] = items = Arrays.copyOf(items, Math.max(8, items.length * 2));
+        }
+        items[sizes[level]++] = value;
+    }
+
+    /*
+     * Compacts the lowest level at or over its capacity. An odd value out stays behind so total weight is preserved.
+     */
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] < levelCapacity(level)) {
+                continue;
+            }
+            if (level + 1 == levels.length) {
+                grow();
+            }
+            int[] items = levels[level];
+            int size = sizes[level];
+            Arrays.sort(items, 0, size);
+            int kept = size & 1;
+            int offset = random.nextBoolean() ? 1 : 0;
+            for (int i = kept + offset; i < size; i += 2) {
+                append(level + 1, items[i]);
+            }
+            sizes[level] = kept;
+            retained = 0;
+            for (int s : sizes) {
+                retained += s;
+            }
+            return;
+        }
+    }
+
+    private void grow() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new int[0];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        capacity = 0;
+        for (int level = 0; level < levels.length; level++) {
+            capacity += levelCapacity(level);
+        }
+    }
+
+    private int levelCapacity(int level) {
+        int depth = levels.length - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private static void sortTogether(int[] values, long[] weights) {
+        long[] packed = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            // value in the high half keeps signed order; the weight's level fits in the low bits
+            packed[i] = ((long) values[i] << 32) | Long.numberOfTrailingZeros(weights[i]);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < packed.length; i++) {
+            values[i] = (int) (packed[i] >> 32);
+            weights[i] = 1L << (packed[i] & 0xFF);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.reliaquest.roster;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable inverted index over employee names for ranked search. Names are split into lower-cased, accent-folded
+ * tokens; the sorted term dictionary maps each term to its rows in a CSR posting list, and a forward CSR list maps each
+ * row back to its terms.
+ *
+ * <p>Every query token must match some name token (AND). A token matches a term exactly, as a prefix, as an infix
+ * (tokens of three or more characters, found through a trigram index over the terms) or within a few edits (found
+ * through a {@link BkTree}). Those tiers score in disjoint ranges, so an exact match always outranks a prefix match
+ * and so on; within a tier, terms closer in length to the token score higher. A row's score is the sum of its best
+ * match per query token, and equal scores keep row order.
+ *
+ * <p>Search walks the terms of the most selective query token from best to worst and stops as soon as no remaining
+ * term can beat the current top {@code limit}, so a query touches a few posting lists instead of every row. Rows that
+ * tie with the worst kept hit on a later term are not considered.
+ */
+public final class NameIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Tier scores: exact 1, prefix [0.6, 0.9), infix [0.3, 0.5), fuzzy (0, 0.25]
+    static final float EXACT = 1.0f;
+    private static final float PREFIX_BASE = 0.6f;
+    private static final float PREFIX_RANGE = 0.3f;
+    private static final float INFIX_BASE = 0.3f;
+    private static final float INFIX_RANGE = 0.2f;
+    private static final float FUZZY_MAX = 0.25f;
+
+    private final int rows;
+    private final String[] terms;
+    private final int[] postingStarts;
+    private final int[] postings;
+    private final int[] rowTermStarts;
+    private final int[] rowTerms;
+    private final long[] trigrams;
+    private final int[] trigramStarts;
+    private final int[] trigramTerms;
+    private final BkTree fuzzy;
+
+    public record Hit(int row, float score) {}
+
+    private NameIndex(
+            int rows, String[] terms, int[] postingStarts, int[] postings, int[] rowTermStarts, int[] rowTerms) {
+        this.rows = rows;
+        this.terms = terms;
+        this.postingStarts = postingStarts;
+        this.postings = postings;
+        this.rowTermStarts = rowTermStarts;
+        this.rowTerms = rowTerms;
+        this.fuzzy = new BkTree(terms);
+
+        Map<Long, List<Integer>> byTrigram = new HashMap<>();
+        for (int term = 0; term < terms.length; term++) {
+            String text = terms[term];
+            long previous = -1;
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                long trigram = trigram(text, i);
+                if (trigram != previous) {
+                    List<Integer> list = byTrigram.computeIfAbsent(trigram, key -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != term) {
+                        list.add(term);
+                    }
+                }
+                previous = trigram;
+            }
+        }
+        trigrams =
+                byTrigram.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        trigramStarts = new int[trigrams.length + 1];
+        int total = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            trigramStarts[i] = total;
+            total += byTrigram.get(trigrams[i]).size();
+        }
+        trigramStarts[trigrams.length] = total;
+        trigramTerms = new int[total];
+        for (int i = 0; i < trigrams.length; i++) {
+            int offset = trigramStarts[i];
+            for (int term : byTrigram.get(trigrams[i])) {
+                trigramTerms[offset++] = term;
+            }
+        }
+    }
+
+    public static NameIndex of(ColumnarRoster roster) {
+        return of(roster.size(), roster::name);
+    }
+
+    /** Indexes {@code names.apply(row)} for every row in {@code [0, rows)}; {@code null} names have no terms. */
+    public static NameIndex of(int rows, IntFunction<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] rowTermStarts = new int[rows + 1];
+        int[] pairs = new int[Math.max(16, rows * 2)];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            rowTermStarts[row] = count;
+            for (String token : tokenize(names.apply(row))) {
+                Integer id = ids.get(token);
+                if (id == null) {
+                    id = dictionary.size();
+                    ids.put(token, id);
+                    dictionary.add(token);
+                }
+                if (!contains(pairs, rowTermStarts[row], count, id)) {
+                    if (count == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, count * 2);
+                    }
+                    pairs[count++] = id;
+                }
+            }
+        }
+        rowTermStarts[rows] = count;
+
+        // Renumber terms in sorted order so prefixes form contiguous ranges
+        String[] terms = dictionary.toArray(new String[0]);
+        Integer[] order = new Integer[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> terms[a].compareTo(terms[b]));
+        int[] renumbered = new int[terms.length];
+        String[] sorted = new String[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            renumbered[order[i]] = i;
+            sorted[i] = terms[order[i]];
+        }
+        int[] rowTerms = new int[count];
+        int[] postingStarts = new int[sorted.length + 1];
+        for (int i = 0; i < count; i++) {
+            rowTerms[i] = renumbered[pairs[i]];
+            postingStarts[rowTerms[i] + 1]++;
+        }
+        for (int term = 0; term < sorted.length; term++) {
+            postingStarts[term + 1] += postingStarts[term];
+        }
+        int[] fill = Arrays.copyOf(postingStarts, sorted.length);
+        int[] postings = new int[count];
+        for (int row = 0; row < rows; row++) {
+            for (int i = rowTermStarts[row]; i < rowTermStarts[row + 1]; i++) {
+                postings[fill[rowTerms[i]]++] = row;
+            }
+        }
+        return new NameIndex(rows, sorted, postingStarts, postings, rowTermStarts, rowTerms);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int terms() {
+        return terms.length;
+    }
+
+    public long heapBytes() {
+        long bytes = 4L * (postingStarts.length + postings.length + rowTermStarts.length + rowTerms.length)
+                + 8L * trigrams.length
+                + 4L * (trigramStarts.length + trigramTerms.length)
+                + 12L * terms.length;
+        for (String term : terms) {
+            bytes += 40 + term.length();
+        }
+        return bytes;
+    }
+
+    /** Best matching rows, highest score first; equal scores are listed in row order. */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        TopHits top = new TopHits(limit);
+        BitSet seen = new BitSet(rows);
+        if (tokens.size() == 1) {
+            // A row's score is that of the first (best) term it is reached through, and edit-distance matches are
+            // only looked up when the better tiers leave the top short
+            String token = tokens.get(0);
+            walk(match(token, false), null, 0, top, seen);
+            if (!top.isFull()) {
+                walk(fuzzyMatches(token), null, 0, top, seen);
+            }
+            return top.sorted();
+        }
+        TermMatches[] matches = new TermMatches[tokens.size()];
+        int driver = 0;
+        float bestTotal = 0;
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = match(tokens.get(i), true);
+            if (matches[i].size == 0) {
+                return List.of();
+            }
+            bestTotal += matches[i].byScore[0].score;
+            if (matches[i].postingCount < matches[driver].postingCount) {
+                driver = i;
+            }
+        }
+        walk(matches[driver], matches, bestTotal - matches[driver].byScore[0].score, top, seen);
+        return top.sorted();
+    }
+
+    /**
+     * Every row with a term that contains {@code token}, one already tokenized word: its exact, prefix and, from three
+     * characters, infix matches, unranked and without a limit.
+     */
+    public BitSet rowsContaining(String token) {
+        BitSet found = new BitSet(rows);
+        TermMatches matches = match(token, false);
+        for (int m = 0; m < matches.size; m++) {
+            int term = matches.byScore[m].term;
+            for (int p = postingStarts[term]; p < postingStarts[term + 1]; p++) {
+                found.set(postings[p]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Scores the rows of {@code driving}'s terms, best term first, until no remaining term can reach the top: its
+     * score plus the best the other tokens ({@code others}) could add is no better than the worst kept hit.
+     */
+    private void walk(TermMatches driving, TermMatches[] all, float others, TopHits top, BitSet seen) {
+        for (int m = 0; m < driving.size; m++) {
+            TermMatch match = driving.byScore[m];
+            if (top.isFull() && top.minScore() >= match.score + others) {
+                return;
+            }
+            for (int p = postingStarts[match.term]; p < postingStarts[match.term + 1]; p++) {
+                int row = postings[p];
+                if (!seen.get(row)) {
+                    seen.set(row);
+                    float score = all == null ? match.score : scoreRow(row, all);
+                    if (score > 0) {
+                        top.offer(row, score);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Sum of the best match per query token, or 0 when some token matches none of the row's terms. */
+    private float scoreRow(int row, TermMatches[] matches) {
+        float total = 0;
+        for (TermMatches tokenMatches : matches) {
+            float best = 0;
+            for (int i = rowTermStarts[row]; i < rowTermStarts[row + 1]; i++) {
+                best = Math.max(best, tokenMatches.scoreOf(rowTerms[i]));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private TermMatches match(String token, boolean withFuzzy) {
+        TermMatches matches = new TermMatches();
+        int exact = Arrays.binarySearch(terms, token);
+        if (exact >= 0) {
+            matches.add(exact, EXACT);
+        }
+        for (int term = exact >= 0 ? exact + 1 : -exact - 1;
+                term < terms.length && terms[term].startsWith(token);
+                term++) {
+            matches.add(term, PREFIX_BASE + PREFIX_RANGE * coverage(token, terms[term]));
+        }
+        if (token.length() >= 3) {
+            int list = rarestTrigram(token);
+            if (list >= 0) {
+                for (int i = trigramStarts[list]; i < trigramStarts[list + 1]; i++) {
+                    int term = trigramTerms[i];
+                    if (!terms[term].startsWith(token) && terms[term].contains(token)) {
+                        matches.add(term, INFIX_BASE + INFIX_RANGE * coverage(token, terms[term]));
+                    }
+                }
+            }
+        }
+        if (withFuzzy) {
+            addFuzzy(token, matches);
+        }
+        matches.seal(postingStarts);
+        return matches;
+    }
+
+    private TermMatches fuzzyMatches(String token) {
+        TermMatches matches = new TermMatches();
+        addFuzzy(token, matches);
+        matches.seal(postingStarts);
+        return matches;
+    }
+
+    /** Terms within {@link #maxEdits(String)} of the token that the other tiers did not already match. */
+    private void addFuzzy(String token, TermMatches matches) {
+        int maxEdits = maxEdits(token);
+        if (maxEdits > 0) {
+            fuzzy.search(token, maxEdits, (term, edits) -> {
+                if (!terms[term].contains(token)) {
+                    matches.add(term, FUZZY_MAX * (1 - (float) (edits - 1) / maxEdits));
+                }
+            });
+        }
+    }
+
+    /** Posting list index of the least common trigram of {@code token}, or -1 if one does not occur at all. */
+    private int rarestTrigram(String token) {
+        int rarest = -1;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            int list = Arrays.binarySearch(trigrams, trigram(token, i));
+            if (list < 0) {
+                return -1;
+            }
+            if (rarest < 0
+                    || trigramStarts[list + 1] - trigramStarts[list]
+                            < trigramStarts[rarest + 1] - trigramStarts[rarest]) {
+                rarest = list;
+            }
+        }
+        return rarest;
+    }
+
+    /** Edits tolerated for a token of this length: none below three characters, two from six. */
+    static int maxEdits(String token) {
+        return token.length() < 3 ? 0 : token.length() < 6 ? 1 : 2;
+    }
+
+    /** Share of the term the token covers, below 1 for the longer terms of prefix and infix matches. */
+    private static float coverage(String token, String term) {
+        return (float) token.length() / term.length();
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>(4);
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /** {@code text} as the index compares it: accents stripped and lower-cased, separators kept. */
+    public static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static boolean contains(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record TermMatch(int term, float score) {}
+
+    /** Bounded min-heap over primitive arrays; the root is the hit to evict first (lowest score, then highest row). */
+    private static final class TopHits {
+
+        private final int[] rows;
+        private final float[] scores;
+        private int size;
+
+        TopHits(int limit) {
+            rows = new int[limit];
+            scores = new float[limit];
+        }
+
+        boolean isFull() {
+            return size == rows.length;
+        }
+
+        float minScore() {
+            return scores[0];
+        }
+
+        void offer(int row, float score) {
+            if (size < rows.length) {
+                rows[size] = row;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0] || (score == scores[0] && row < rows[0])) {
+                rows[0] = row;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> sorted() {
+            Hit[] hits = new Hit[size];
+            for (int i = 0; i < size; i++) {
+                hits[i] = new Hit(rows[i], scores[i]);
+            }
+            Arrays.sort(
+                    hits, (a, b) -> a.score() != b.score() ? Float.compare(b.score(), a.score()) : a.row() - b.row());
+            return List.of(hits);
+        }
+
+        private boolean before(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] < scores[b] : rows[a] > rows[b];
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                if (left < size && before(left, smallest)) {
+                    smallest = left;
+                }
+                if (left + 1 < size && before(left + 1, smallest)) {
+                    smallest = left + 1;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /** The terms one query token matches, by score for driving the search and by term id for scoring rows. */
+    private static final class TermMatches {
+
+        private TermMatch[] byScore = new TermMatch[8];
+        private int[] termIds;
+        private float[] scores;
+        private int size;
+        private long postingCount;
+
+        void add(int term, float score) {
+            if (size == byScore.length) {
+                byScore = Arrays.copyOf(byScore, size * 2);
+            }
+            byScore[size++] = new TermMatch(term, score);
+        }
+
+        void seal(int[] postingStarts) {
+            byScore = Arrays.copyOf(byScore, size);
+            TermMatch[] byTerm = byScore.clone();
+            Arrays.sort(byTerm, (a, b) -> Integer.compare(a.term, b.term));
+            termIds = new int[size];
+            scores = new float[size];
+            for (int i = 0; i < size; i++) {
+                termIds[i] = byTerm[i].term;
+                scores[i] = byTerm[i].score;
+                postingCount += postingStarts[byTerm[i].term + 1] - postingStarts[byTerm[i].term];
+            }
+            Arrays.sort(
+                    byScore,
+                    (a, b) -> a.score != b.score ? Float.compare(b.score, a.score) : Integer.compare(a.term, b.term));
+        }
+
+        float scoreOf(int term) {
+            int i = Arrays.binarySearch(termIds, term);
+            return i >= 0 ? scores[i] : 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.roster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Variable-width string column stored as UTF-8 in one shared byte arena with per-row offsets, instead of one
+ * {@link String} object per row. Overwritten or moved-out values leave dead bytes behind that are reclaimed by
+ * {@link #compact(int)} once they outweigh the live data.
+ */
+final class StringColumn {
+
+    private static final int NULL_LENGTH = -1;
+
+    private byte[] arena;
+    private int used;
+    private int garbage;
+    private int[] offsets;
+    private int[] lengths;
+
+    StringColumn(int rows) {
+        arena = new byte[Math.max(64, rows * 16)];
+        offsets = new int[rows];
+        lengths = new int[rows];
+    }
+
+    void ensureRows(int rows) {
+        if (rows > offsets.length) {
+            int capacity = Math.max(rows, offsets.length + (offsets.length >> 1) + 1);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+    }
+
+    void set(int row, String value) {
+        if (lengths[row] > 0) {
+            garbage += lengths[row];
+        }
+        if (value == null) {
+            lengths[row] = NULL_LENGTH;
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        if (used + encoded.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(used + encoded.length, arena.length * 2));
+        }
+        System.arraycopy(encoded, 0, arena, used, encoded.length);
+        offsets[row] = used;
+        lengths[row] = encoded.length;
+        used += encoded.length;
+    }
+
+    String get(int row) {
+        int length = lengths[row];
+        return length == NULL_LENGTH ? null : new String(arena, offsets[row], length, StandardCharsets.UTF_8);
+    }
+
+    /** Moves row {@code from} into slot {@code to}, dropping whatever {@code to} held. */
+    void move(int from, int to) {
+        if (lengths[to] > 0) {
+            garbage += lengths[to];
+        }
+        offsets[to] = offsets[from];
+        lengths[to] = lengths[from];
+        lengths[from] = NULL_LENGTH;
+    }
+
+    void clear(int row) {
+        if (lengths[row] > 0) {
+            garbage += lengths[row];
+        }
+        lengths[row] = NULL_LENGTH;
+    }
+
+    /** Rewrites the first {@code rows} values contiguously when more than half of the arena is dead. */
+    void compact(int rows) {
+        if (garbage <= used - garbage) {
+            return;
+        }
+        byte[] packed = new byte[Math.max(64, (used - garbage) + ((used - garbage) >> 1))];
+        int position = 0;
+        for (int row = 0; row < rows; row++) {
+            int length = lengths[row];
+            if (length > 0) {
+                System.arraycopy(arena, offsets[row], packed, position, length);
+                offsets[row] = position;
+                position += length;
+            }
+        }
+        arena = packed;
+        used = position;
+        garbage = 0;
+    }
+
+    long heapBytes() {
+        return arena.length + 8L * offsets.length;
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.roster;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for job titles: each distinct title is stored once and rows hold its int code. Codes are
+ * stable for the life of the dictionary, so a filter on title compares ints instead of strings.
+ */
+public final class TitleDictionary {
+
+    public static final int NO_TITLE = -1;
+
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    public int encode(String title) {
+        if (title == null) {
+            return NO_TITLE;
+        }
+        Integer code = codes.get(title);
+        if (code == null) {
+            code = titles.size();
+            titles.add(title);
+            codes.put(title, code);
+        }
+        return code;
+    }
+
+    /** Code of an already-known title, or {@link #NO_TITLE} if no row has ever used it. */
+    public int codeOf(String title) {
+        return title == null ? NO_TITLE : codes.getOrDefault(title, NO_TITLE);
+    }
+
+    public String decode(int code) {
+        return code == NO_TITLE ? null : titles.get(code);
+    }
+
+    public int size() {
+        return titles.size();
+    }
+}
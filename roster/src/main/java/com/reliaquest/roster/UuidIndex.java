@@ -0,0 +1,124 @@
+package com.reliaquest.roster;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash index from a UUID (as its two longs) to a row number. Linear probing with backward-shift
+ * deletion, so there are no tombstones and lookups stay short after many removals.
+ */
+public final class UuidIndex {
+
+    public static final int EMPTY = -1;
+
+    private long[] msbs;
+    private long[] lsbs;
+    private int[] rows;
+    private int mask;
+    private int size;
+
+    public UuidIndex(int expected) {
+        allocate(tableSizeFor(expected));
+    }
+
+    public int get(long msb, long lsb) {
+        for (int slot = slot(msb, lsb); ; slot = (slot + 1) & mask) {
+            int row = rows[slot];
+            if (row == EMPTY) {
+                return EMPTY;
+            }
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                return row;
+            }
+        }
+    }
+
+    /** Maps the id to {@code row}, replacing any previous mapping. */
+    public void put(long msb, long lsb, int row) {
+        if ((size + 1) * 2 > rows.length) {
+            resize(rows.length * 2);
+        }
+        for (int slot = slot(msb, lsb); ; slot = (slot + 1) & mask) {
+            if (rows[slot] == EMPTY) {
+                msbs[slot] = msb;
+                lsbs[slot] = lsb;
+                rows[slot] = row;
+                size++;
+                return;
+            }
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                rows[slot] = row;
+                return;
+            }
+        }
+    }
+
+    public void remove(long msb, long lsb) {
+        int slot = slot(msb, lsb);
+        while (rows[slot] != EMPTY) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                shiftBack(slot);
+                size--;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long heapBytes() {
+        return 20L * rows.length;
+    }
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (rows[slot] == EMPTY) {
+                rows[hole] = EMPTY;
+                return;
+            }
+            int home = slot(msbs[slot], lsbs[slot]);
+            // move the entry into the hole unless its home lies cyclically in (hole, slot]
+            boolean stays = hole <= slot ? (hole < home && home <= slot) : (hole < home || home <= slot);
+            if (!stays) {
+                msbs[hole] = msbs[slot];
+                lsbs[hole] = lsbs[slot];
+                rows[hole] = rows[slot];
+                hole = slot;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldMsbs = msbs;
+        long[] oldLsbs = lsbs;
+        int[] oldRows = rows;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldRows.length; i++) {
+            if (oldRows[i] != EMPTY) {
+                put(oldMsbs[i], oldLsbs[i], oldRows[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        rows = new int[capacity];
+        Arrays.fill(rows, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private int slot(long msb, long lsb) {
+        long h = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expected) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.roster;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ColumnarRosterTest {
+
+    @Test
+    void testAddAndReadBack() {
+        ColumnarRoster roster = new ColumnarRoster(1);
+        UUID id = UUID.randomUUID();
+        roster.add(id, "Zoë Ünal", 120000, 41, "Engineer", "zoe@company.com");
+        roster.add(UUID.randomUUID(), "Bob", null, null, null, null);
+
+        int row = roster.indexOf(id);
+        assertEquals(0, row);
+        assertEquals("Zoë Ünal", roster.name(row));
+        assertEquals(120000, roster.salary(row));
+        assertEquals("Engineer", roster.title(row));
+        assertEquals(ColumnarRoster.NO_VALUE, roster.age(1));
+        assertNull(roster.title(1));
+        assertEquals(120000, roster.maxSalary());
+        assertEquals(120000, roster.sumSalaries());
+    }
+
+    @Test
+    void testTitlesAreDictionaryEncoded() {
+        ColumnarRoster roster = new ColumnarRoster();
+        roster.add(UUID.randomUUID(), "A", 1, 20, "Engineer", null);
+        roster.add(UUID.randomUUID(), "B", 2, 20, "Manager", null);
+        roster.add(UUID.randomUUID(), "C", 3, 20, "Engineer", null);
+
+        assertEquals(2, roster.titles().size());
+        assertEquals(roster.titleCode(0), roster.titleCode(2));
+        int engineer = roster.titles().codeOf("Engineer");
+        assertArrayEquals(new int[] {0, 2}, roster.filter(row -> roster.titleCode(row) == engineer));
+    }
+
+    @Test
+    void testRemoveKeepsIndexConsistent() {
+        ColumnarRoster roster = new ColumnarRoster();
+        List<UUID> ids = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            ids.add(id);
+            roster.add(id, "name-" + i, i, 30, "title-" + (i % 13), "e" + i + "@company.com");
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            roster.remove(roster.indexOf(ids.get(i)));
+        }
+
+        assertEquals(2500, roster.size());
+        for (int i = 0; i < 5000; i++) {
+            int row = roster.indexOf(ids.get(i));
+            if (i % 2 == 0) {
+                assertEquals(-1, row);
+            } else {
+                assertEquals("name-" + i, roster.name(row));
+                assertEquals(i, roster.salary(row));
+                assertEquals("e" + i + "@company.com", roster.email(row));
+            }
+        }
+    }
+
+    @Test
+    void testTopBySalaryKeepsRowOrderOnTies() {
+        ColumnarRoster roster = new ColumnarRoster();
+        int[] salaries = {50, 90, 70, 90, 10};
+        for (int salary : salaries) {
+            roster.add(UUID.randomUUID(), "e" + salary, salary, 30, null, null);
+        }
+
+        assertArrayEquals(new int[] {1, 3, 2}, roster.topBySalary(3));
+        assertEquals(5, roster.topBySalary(10).length);
+        assertEquals(2, roster.countSalaryBetween(50, 70));
+    }
+}
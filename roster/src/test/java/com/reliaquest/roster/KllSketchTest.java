@@ -0,0 +1,60 @@
+package com.reliaquest.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class KllSketchTest {
+
+    @Test
+    void testExactWhileSmallerThanK() {
+        KllSketch sketch = new KllSketch(64, 1);
+        for (int value = 1; value <= 50; value++) {
+            sketch.update(value);
+        }
+
+        assertEquals(50, sketch.count());
+        assertEquals(0, sketch.rank(0));
+        assertEquals(25, sketch.rank(25));
+        assertEquals(50, sketch.sortedView().totalWeight());
+    }
+
+    @Test
+    void testRanksStayWithinErrorBoundOnAMillionValues() {
+        int n = 1_000_000;
+        SplittableRandom random = new SplittableRandom(7);
+        int[] values = new int[n];
+        KllSketch sketch = new KllSketch(200, 42);
+        for (int i = 0; i < n; i++) {
+            // skewed like salaries: most low, a long tail of high earners
+            values[i] = (int) (30_000 + 20_000 * -Math.log(1 - random.nextDouble()));
+            sketch.update(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(n, sketch.count());
+        assertEquals(n, sketch.sortedView().totalWeight());
+        assertTrue(sketch.retained() < 4 * 200, "retained " + sketch.retained());
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.9, 0.99}) {
+            int value = values[(int) (q * n)];
+            long exact = upperBound(values, value);
+            long error = Math.abs(sketch.rank(value) - exact);
+            assertTrue(error < 0.02 * n, "rank error " + error + " at q=" + q);
+            assertEquals(sketch.rank(value), sketch.sortedView().rank(value));
+        }
+    }
+
+    private static int upperBound(int[] sorted, int value) {
+        int i = Arrays.binarySearch(sorted, value);
+        if (i < 0) {
+            return -i - 1;
+        }
+        while (i < sorted.length && sorted[i] == value) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private static final List<String> NAMES = List.of(
+            "John Smith", // 0
+            "Johnny Appleseed", // 1
+            "Jane Smithers", // 2
+            "Björn Johnson", // 3
+            "Mary-Jane Watson", // 4
+            "Jon Snow"); // 5
+
+    private final NameIndex index = NameIndex.of(NAMES.size(), NAMES::get);
+
+    @Test
+    void testExactBeforePrefixBeforeInfixBeforeFuzzy() {
+        // john: exact (0), prefix johnny (1) and johnson (3, longer), fuzzy jon (5)
+        assertEquals(List.of(0, 1, 3, 5), rows("john", 10));
+    }
+
+    @Test
+    void testInfixMatch() {
+        assertEquals(List.of(3), rows("ohnso", 10));
+    }
+
+    @Test
+    void testFuzzyMatch() {
+        assertEquals(List.of(4), rows("watsno", 10));
+        assertEquals(List.of(), rows("xyz", 10));
+    }
+
+    @Test
+    void testAllTokensMustMatch() {
+        assertEquals(List.of(0, 2), rows("smith j", 10));
+        assertEquals(List.of(2, 4), rows("jane", 10));
+        assertEquals(List.of(4), rows("jane wat", 10));
+    }
+
+    @Test
+    void testCaseAndAccentsAreFolded() {
+        assertEquals(List.of(3), rows("BJORN", 10));
+    }
+
+    @Test
+    void testRowsContainingFindsEveryTermWithTheToken() {
+        assertEquals(
+                List.of(0, 2), index.rowsContaining("smith").stream().boxed().toList());
+        assertEquals(
+                List.of(0, 1, 3), index.rowsContaining("ohn").stream().boxed().toList());
+        assertEquals(List.of(), index.rowsContaining("watsno").stream().boxed().toList());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(List.of(0, 1), rows("john", 2));
+        assertEquals(List.of(), rows("john", 0));
+        assertEquals(List.of(), rows("  ", 10));
+    }
+
+    @Test
+    void testMatchesLinearScanOnLargerRoster() {
+        String[] first = {"Ann", "Anna", "Annabel", "Bob", "Bobby", "Carl", "Carla", "Dana"};
+        String[] last = {"Lee", "Leeds", "Lewis", "Moss", "Moses", "Nash"};
+        int rows = 5_000;
+        NameIndex large = NameIndex.of(rows, row -> first[row % first.length] + " " + last[(row / 7) % last.length]);
+        List<NameIndex.Hit> hits = large.search("ann lee", 50);
+        assertEquals(50, hits.size());
+        for (NameIndex.Hit hit : hits) {
+            assertEquals(2 * NameIndex.EXACT, hit.score());
+            assertTrue(hit.row() % first.length == 0 && (hit.row() / 7) % last.length == 0);
+        }
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).row() < hits.get(i).row());
+        }
+    }
+
+    private List<Integer> rows(String query, int limit) {
+        return index.search(query, limit).stream().map(NameIndex.Hit::row).toList();
+    }
+}
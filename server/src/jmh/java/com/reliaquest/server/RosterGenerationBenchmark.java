@@ -0,0 +1,51 @@
+package com.reliaquest.server;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+
+/**
+ * Tracks roster generation on its own and the full server start-up it dominates at large sizes. Run with
+ * {@code ./gradlew server:jmh -Pjmh.includes=RosterGenerationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class RosterGenerationBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rosterSize;
+
+    @Benchmark
+    public List<MockEmployee> generate() {
+        return new MockEmployeeGenerator(Locale.US, 42L).generate(rosterSize);
+    }
+
+    @Benchmark
+    public int startServer() {
+        final var application = new SpringApplication(ServerApplication.class);
+        application.setWebApplicationType(WebApplicationType.SERVLET);
+        try (var context = application.run(
+                "--server.port=0",
+                "--logging.level.com.reliaquest=INFO",
+                "--mock.employees.seed=42",
+                "--mock.employees.max=" + rosterSize)) {
+            return context.getBeanDefinitionCount();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.reliaquest.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Tomcat against Netty for the same mock server: each trial starts the boot jar with
+ * {@code spring.main.web-application-type} set to {@code transport} and rate limiting off, then many client threads
+ * fetch one employee. {@code newConnection} opens a socket per request ({@code Connection: close}), so its throughput
+ * is connections per second; {@code keepAlive} reuses one connection per thread. Sample time gives the p99.
+ *
+ * <p>Build the jar first: {@code ./gradlew server:bootJar server:jmh}; {@code -Dserver.jar=...} points elsewhere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class ServerTransportBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    @Param({"servlet", "reactive"})
+    private String transport;
+
+    private Process server;
+    private InetSocketAddress address;
+    private String path;
+    private byte[] closingRequest;
+
+    @Setup(Level.Trial)
+    public void startServer() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final var java = ProcessHandle.current().info().command().orElse("java");
+        final var cacheDir = Files.createTempDirectory("roster-cache");
+        final var log = Files.createTempFile("server-" + transport, ".log");
+        server = new ProcessBuilder(
+                        java,
+                        "-jar",
+                        serverJar().toString(),
+                        "--server.port=" + port,
+                        "--spring.main.web-application-type=" + transport,
+                        "--mock.rate-limit.enabled=false",
+                        "--mock.roster-cache.dir=" + cacheDir,
+                        "--logging.level.com.reliaquest=INFO")
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        address = new InetSocketAddress("127.0.0.1", port);
+
+        final var client = HttpClient.newHttpClient();
+        final var base = "http://127.0.0.1:" + port;
+        awaitHealthy(client, base, log);
+        final var roster = client.send(
+                HttpRequest.newBuilder(URI.create(base + "/api/v1/employee")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        final var id =
+                new ObjectMapper().readTree(roster.body()).at("/data/0/id").asText();
+        path = "/api/v1/employee/" + id;
+        closingRequest = ("GET " + path + " HTTP/1.1\r\nHost: 127.0.0.1\r\nConnection: close\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws InterruptedException {
+        server.destroy();
+        if (!server.waitFor(10, TimeUnit.SECONDS)) {
+            server.destroyForcibly();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Connection {
+
+        private HttpClient client;
+        private HttpRequest request;
+
+        @Setup(Level.Trial)
+        public void open(ServerTransportBenchmark benchmark) {
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Runnable::run)
+                    .build();
+            request = HttpRequest.newBuilder(
+                            URI.create("http://127.0.0.1:" + benchmark.address.getPort() + benchmark.path))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public int newConnection() throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.setSoLinger(true, 0); // skip TIME_WAIT so the client does not run out of ephemeral ports
+            socket.connect(address);
+            OutputStream out = socket.getOutputStream();
+            out.write(closingRequest);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[8192];
+            int total = 0;
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    @Benchmark
+    public int keepAlive(Connection connection) throws IOException, InterruptedException {
+        return connection
+                .client
+                .send(connection.request, HttpResponse.BodyHandlers.ofByteArray())
+                .body()
+                .length;
+    }
+
+    private static Path serverJar() {
+        final var configured = System.getProperty("server.jar");
+        final var candidates = configured != null
+                ? List.of(Path.of(configured))
+                : List.of(Path.of("build/libs/server-1.0.0.jar"), Path.of("server/build/libs/server-1.0.0.jar"));
+        return candidates.stream()
+                .filter(Files::isRegularFile)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "Server jar not found at " + candidates + "; run ./gradlew server:bootJar first"));
+    }
+
+    private void awaitHealthy(HttpClient client, String base, Path log) throws InterruptedException {
+        final var health =
+                HttpRequest.newBuilder(URI.create(base + "/actuator/health")).build();
+        final var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Server exited with " + server.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+        server.destroyForcibly();
+        throw new UncheckedIOException(new IOException("Server not healthy after " + STARTUP_TIMEOUT + ", see " + log));
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.server;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares JSON and CBOR for the full roster response: encode and decode cost per roster, plus raw and gzipped payload
+ * sizes printed once per trial. Run with {@code ./gradlew server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rosterSize;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = CBORMapper.builder()
+            .withConfigOverride(UUID.class, o -> o.setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING)))
+            .build();
+
+    private Response<List<MockEmployee>> roster;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        final var random = new Random(42);
+        final var faker = new Faker(Locale.US, random);
+        roster = Response.handledWith(IntStream.range(0, rosterSize)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()))
+                        .name(faker.name().fullName())
+                        .salary(faker.number().numberBetween(30000, 500000))
+                        .age(faker.number().numberBetween(16, 70))
+                        .title(faker.job().title())
+                        .email(faker.internet().emailAddress())
+                        .build())
+                .toList());
+        jsonBytes = json.writeValueAsBytes(roster);
+        cborBytes = cbor.writeValueAsBytes(roster);
+        System.out.printf(
+                "%n[wire] employees=%d json=%d B (gzip %d B) cbor=%d B (gzip %d B)%n",
+                rosterSize, jsonBytes.length, gzipped(jsonBytes), cborBytes.length, gzipped(cborBytes));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return json.readTree(jsonBytes);
+    }
+
+    @Benchmark
+    public JsonNode decodeCbor() throws IOException {
+        return cbor.readTree(cborBytes);
+    }
+
+    private static int gzipped(byte[] payload) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Builds the seed roster in fixed-size chunks across the common pool. Each chunk gets its own {@link Faker} seeded
+ * from a {@link SplittableRandom} derived from the roster seed, so the output depends only on seed, locale and size,
+ * never on thread scheduling or on the JVM's default locale. Employees are built directly through
+ * {@link MockEmployee#builder()}.
+ */
+public class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 4096;
+
+    private final Locale locale;
+    private final long seed;
+
+    /** Rosters in {@link Locale#US}, the same for a given seed on every machine. */
+    public MockEmployeeGenerator(long seed) {
+        this(Locale.US, seed);
+    }
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var employees = new MockEmployee[count];
+        final var chunkSeeds = new SplittableRandom(seed)
+                .longs((count + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .toArray();
+        IntStream.range(0, chunkSeeds.length)
+                .parallel()
+                .forEach(chunk -> fill(employees, chunk * CHUNK_SIZE, chunkSeeds[chunk]));
+        return new ArrayList<>(Arrays.asList(employees));
+    }
+
+    private void fill(MockEmployee[] employees, int from, long chunkSeed) {
+        final var random = new Random(chunkSeed);
+        final var faker = new Faker(locale, random);
+        final var to = Math.min(employees.length, from + CHUNK_SIZE);
+        for (int i = from; i < to; i++) {
+            employees[i] = MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase(locale)))
+                    .build();
+        }
+    }
+
+    /** Version 4 UUID drawn from the chunk's generator instead of the shared SecureRandom. */
+    private static UUID randomUuid(Random random) {
+        final var msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
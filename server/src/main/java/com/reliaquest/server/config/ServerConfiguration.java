@@ -1,59 +1,128 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.store.ColumnarMockEmployeeStore;
+import com.reliaquest.server.store.MappedMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.web.RequestLimiter;
+import com.reliaquest.server.web.RosterResponseCache;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Lazy
     @Bean
     public Faker faker() {
-        return new Faker(Locale.getDefault());
+        return new Faker(Locale.US);
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seed roster; CRUD operations go through the MockEmployeeStore built from it.
+     * Lazy so a persisted store that already has its data file never generates one.
+     * Set mock.employees.seed to reproduce a roster; otherwise the random seed used is logged.
      */
+    @Lazy
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<MockEmployee> mockEmployees(
+            @Value("${mock.employees.max:20}") int maxEmployees, @Value("${mock.employees.seed:#{null}}") Long seed) {
+        final var rosterSeed =
+                seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final var started = System.nanoTime();
+        final var employees = new MockEmployeeGenerator(rosterSeed).generate(maxEmployees);
+        log.info(
+                "Generated {} employees in {} ms (mock.employees.seed={})",
+                employees.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                rosterSeed);
+        if (log.isTraceEnabled()) {
+            employees.forEach(mockEmployee -> log.trace("Created employee: {}", mockEmployee));
+        }
+        return employees;
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    /*
+     * mock.employees.store=mapped keeps the roster in a memory-mapped file that survives restarts;
+     * delete the file to regenerate it.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            ObjectProvider<List<MockEmployee>> mockEmployees,
+            @Value("${mock.employees.store:columnar}") String store,
+            @Value("${mock.employees.file:build/mock-employees.dat}") Path file) {
+        if ("mapped".equalsIgnoreCase(store)) {
+            return new MappedMockEmployeeStore(file, mockEmployees::getObject);
+        }
+        return new ColumnarMockEmployeeStore(mockEmployees.getObject());
+    }
+
+    /*
+     * Shared by the servlet interceptor and the reactive web filter; see WebMvcConfiguration and WebFluxConfiguration.
+     */
+    @Bean
+    public RequestLimiter requestLimiter(
+            @Value("${mock.rate-limit.capacity:10}") int capacity,
+            @Value("${mock.rate-limit.period:60s}") Duration period,
+            @Value("${mock.rate-limit.max-clients:10000}") int maxClients) {
+        return new RequestLimiter(capacity, period, maxClients);
+    }
+
+    /*
+     * Pre-encoded GET /api/v1/employee bodies, rebuilt once per roster version with the same mappers as the
+     * converters. Bodies of at least mock.roster-cache.sendfile-threshold go out through Tomcat's sendfile, or
+     * Netty's file transfer on the reactive server, from mock.roster-cache.dir: a fresh temp directory unless set.
+     * The cache owns the directory and clears its roster files on startup and shutdown.
+     */
+    @Bean
+    public RosterResponseCache rosterResponseCache(
+            ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+            @Value("${mock.roster-cache.dir:}") String dir,
+            @Value("${mock.roster-cache.sendfile-threshold:48KB}") DataSize sendfileThreshold,
+            @Value("${mock.roster-cache.retain:60s}") Duration retain)
+            throws IOException {
+        return new RosterResponseCache(
+                objectMapper,
+                cborHttpMessageConverter.getObjectMapper(),
+                dir.isBlank() ? Files.createTempDirectory("roster-cache") : Path.of(dir),
+                (int) Math.min(Integer.MAX_VALUE, sendfileThreshold.toBytes()),
+                retain);
+    }
+
+    /*
+     * Serves application/cbor to clients that ask for it via Accept; JSON stays the default.
+     * Built from Boot's ObjectMapper builder so naming strategies and modules match the JSON converter,
+     * and UUIDs stay text so both encodings carry the same document.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .postConfigurer(mapper ->
+                        mapper.configOverride(UUID.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING)))
+                .build());
     }
 }
@@ -0,0 +1,89 @@
+package com.reliaquest.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.RequestLimitWebFilter;
+import com.reliaquest.server.web.RequestLimiter;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+
+/*
+ * The reactive (Netty) counterpart of WebMvcConfiguration, active with spring.main.web-application-type=reactive.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class WebFluxConfiguration implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    /*
+     * Tomcat is on the classpath for the servlet variant and would otherwise be picked as the reactive server too.
+     * Port, compression and the other server.* properties are still applied by Boot's factory customizers.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public RequestLimitWebFilter requestLimitWebFilter(
+            RequestLimiter requestLimiter, @Value("${mock.rate-limit.client-header:X-Client-Id}") String clientHeader) {
+        return new RequestLimitWebFilter(requestLimiter, clientHeader);
+    }
+
+    /*
+     * Same CBOR mapper as the servlet converter, so both variants negotiate the same encodings. The CBOR codecs need
+     * their media type spelled out (with a mapper they default to JSON's), and custom writers are consulted before the
+     * defaults, so JSON goes ahead of CBOR to stay the default for wildcard Accept headers.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        final var cborMapper = cborHttpMessageConverter.getObjectMapper();
+        configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+        configurer.customCodecs().register(new SingleValueCborEncoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+    }
+
+    /*
+     * Jackson2CborEncoder only implements encodeValue and rejects encode(Publisher), which is what the message writer
+     * calls; every handler here returns a single value, so each element is encoded as one CBOR document.
+     */
+    private static class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(
+                Publisher<?> inputStream,
+                DataBufferFactory bufferFactory,
+                ResolvableType elementType,
+                MimeType mimeType,
+                Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
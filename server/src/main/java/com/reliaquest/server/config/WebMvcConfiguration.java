@@ -0,0 +1,32 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    private final RequestLimiter requestLimiter;
+
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${mock.rate-limit.client-header:X-Client-Id}")
+    private String clientHeader;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RequestLimitInterceptor(requestLimiter, clientHeader))
+                    .excludePathPatterns("/actuator/**");
+        }
+    }
+}
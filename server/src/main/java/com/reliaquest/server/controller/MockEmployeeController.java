@@ -2,13 +2,19 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.LookupMockEmployeesInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.RosterResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,15 +26,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    private final RosterResponseCache rosterResponseCache;
+
+    /*
+     * Served from the pre-encoded roster of the current version; see RosterResponseCache.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public void getEmployees(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rosterResponseCache.write(
+                request, response, mockEmployeeService.getRosterVersion(), mockEmployeeService::getMockEmployees);
     }
 
     @GetMapping("/{id}")
@@ -39,6 +52,14 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /*
+     * Multi-get: the employees among ids that exist, in request order without duplicates; unknown ids are left out.
+     */
+    @PostMapping("/lookup")
+    public Response<List<MockEmployee>> lookupEmployees(@Valid @RequestBody LookupMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.findAllById(input.getIds()));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
@@ -0,0 +1,77 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.LookupMockEmployeesInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.RosterResponseCache;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link MockEmployeeController} on the reactive (Netty) server, active with
+ * {@code spring.main.web-application-type=reactive}. Everything that takes the store's lock runs on the bounded-elastic
+ * scheduler, so a lookup queued behind a create or delete (which, with the mapped store, writes the data file) never
+ * stalls the event loop. A cached roster body is served from the event loop; encoding a new version is not.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/employee")
+@RequiredArgsConstructor
+public class ReactiveMockEmployeeController {
+
+    private final MockEmployeeService mockEmployeeService;
+
+    private final RosterResponseCache rosterResponseCache;
+
+    @GetMapping()
+    public Mono<Void> getEmployees(ServerWebExchange exchange) {
+        return rosterResponseCache.write(
+                exchange, mockEmployeeService.getRosterVersion(), mockEmployeeService::getMockEmployees);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Response<MockEmployee>>> getEmployee(@PathVariable("id") UUID uuid) {
+        return Mono.fromCallable(() -> mockEmployeeService
+                        .findById(uuid)
+                        .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                        .orElseGet(() ->
+                                ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.<MockEmployee>handled())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("/lookup")
+    public Mono<Response<List<MockEmployee>>> lookupEmployees(@Valid @RequestBody LookupMockEmployeesInput input) {
+        return Mono.fromCallable(() -> Response.handledWith(mockEmployeeService.findAllById(input.getIds())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping()
+    public Mono<Response<MockEmployee>> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
+        return Mono.fromCallable(() -> Response.handledWith(mockEmployeeService.create(input)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @DeleteMapping()
+    public Mono<Response<Boolean>> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
+        return Mono.fromCallable(() -> Response.handledWith(mockEmployeeService.delete(input)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
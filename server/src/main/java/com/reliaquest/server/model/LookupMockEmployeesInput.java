@@ -0,0 +1,14 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class LookupMockEmployeesInput {
+
+    @NotNull @Size(max = 1000)
+    private List<UUID> ids;
+}
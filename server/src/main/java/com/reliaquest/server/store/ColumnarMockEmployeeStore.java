@@ -0,0 +1,129 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.roster.ColumnarRoster;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the roster in a {@link ColumnarRoster}: primitive salary/age columns, dictionary-encoded titles and packed
+ * UUIDs, with an id index for lookups. {@link MockEmployee} objects are only built for the rows being returned.
+ */
+public class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    private final ColumnarRoster roster;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ColumnarMockEmployeeStore(Collection<MockEmployee> seed) {
+        roster = new ColumnarRoster(seed.size());
+        seed.forEach(this::append);
+    }
+
+    @Override
+    public List<MockEmployee> findAll() {
+        lock.readLock().lock();
+        try {
+            List<MockEmployee> employees = new ArrayList<>(roster.size());
+            for (int row = 0; row < roster.size(); row++) {
+                employees.add(toEmployee(row));
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            int row = roster.indexOf(id);
+            return row < 0 ? Optional.empty() : Optional.of(toEmployee(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> findAllById(Collection<UUID> ids) {
+        lock.readLock().lock();
+        try {
+            List<MockEmployee> employees = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                int row = roster.indexOf(id);
+                if (row >= 0) {
+                    employees.add(toEmployee(row));
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            append(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeByName(String name) {
+        lock.writeLock().lock();
+        try {
+            int row = roster.findFirst(r -> name.equalsIgnoreCase(roster.name(r)));
+            if (row < 0) {
+                return Optional.empty();
+            }
+            MockEmployee removed = toEmployee(row);
+            roster.remove(row);
+            return Optional.of(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return roster.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(MockEmployee employee) {
+        roster.add(
+                employee.getId(),
+                employee.getName(),
+                employee.getSalary(),
+                employee.getAge(),
+                employee.getTitle(),
+                employee.getEmail());
+    }
+
+    private MockEmployee toEmployee(int row) {
+        return MockEmployee.builder()
+                .id(roster.id(row))
+                .name(roster.name(row))
+                .salary(boxed(roster.salary(row)))
+                .age(boxed(roster.age(row)))
+                .title(roster.title(row))
+                .email(roster.email(row))
+                .build();
+    }
+
+    private static Integer boxed(int value) {
+        return value == ColumnarRoster.NO_VALUE ? null : value;
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Fixed-width binary layout of one employee, shared by the mapped data file and the mutation log. Strings are UTF-8
+ * with a two-byte length prefix in a fixed slot; values longer than their slot are rejected rather than cut.
+ *
+ * <pre>
+ *   0  id msb (8)      8  id lsb (8)     16  salary (4)    20  age (4)
+ *  24  name (2 + 70)  96  title (2 + 94) 192 email (2 + 62)             = 256 bytes
+ * </pre>
+ */
+final class EmployeeRecord {
+
+    static final int SIZE = 256;
+
+    private static final int SALARY = 16;
+    private static final int AGE = 20;
+    private static final int NAME = 24;
+    private static final int NAME_BYTES = 70;
+    private static final int TITLE = 96;
+    private static final int TITLE_BYTES = 94;
+    private static final int EMAIL = 192;
+    private static final int EMAIL_BYTES = 62;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final short NULL_STRING = -1;
+
+    private EmployeeRecord() {}
+
+    /**
+     * @throws IllegalArgumentException if a string does not fit its slot; nothing is written then
+     */
+    static void write(ByteBuffer buffer, int offset, MockEmployee employee) {
+        byte[] name = utf8(NAME_BYTES, "name", employee.getName());
+        byte[] title = utf8(TITLE_BYTES, "title", employee.getTitle());
+        byte[] email = utf8(EMAIL_BYTES, "email", employee.getEmail());
+        buffer.putLong(offset, employee.getId().getMostSignificantBits());
+        buffer.putLong(offset + 8, employee.getId().getLeastSignificantBits());
+        buffer.putInt(offset + SALARY, employee.getSalary() == null ? NULL_INT : employee.getSalary());
+        buffer.putInt(offset + AGE, employee.getAge() == null ? NULL_INT : employee.getAge());
+        putString(buffer, offset + NAME, name);
+        putString(buffer, offset + TITLE, title);
+        putString(buffer, offset + EMAIL, email);
+    }
+
+    static MockEmployee read(ByteBuffer buffer, int offset) {
+        int salary = buffer.getInt(offset + SALARY);
+        int age = buffer.getInt(offset + AGE);
+        return MockEmployee.builder()
+                .id(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)))
+                .salary(salary == NULL_INT ? null : salary)
+                .age(age == NULL_INT ? null : age)
+                .name(getString(buffer, offset + NAME))
+                .title(getString(buffer, offset + TITLE))
+                .email(getString(buffer, offset + EMAIL))
+                .build();
+    }
+
+    static long idMsb(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    static long idLsb(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    static String name(ByteBuffer buffer, int offset) {
+        return getString(buffer, offset + NAME);
+    }
+
+    private static byte[] utf8(int capacity, String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > capacity) {
+            throw new IllegalArgumentException(
+                    "Employee " + field + " is " + bytes.length + " bytes of UTF-8, at most " + capacity + " fit");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, int offset, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort(offset, NULL_STRING);
+            return;
+        }
+        buffer.putShort(offset, (short) bytes.length);
+        buffer.put(offset + 2, bytes);
+    }
+
+    private static String getString(ByteBuffer buffer, int offset) {
+        short length = buffer.getShort(offset);
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
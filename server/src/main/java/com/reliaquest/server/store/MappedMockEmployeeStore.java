@@ -0,0 +1,551 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.roster.ColumnarRoster;
+import com.reliaquest.roster.UuidIndex;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persistent roster kept off-heap: an immutable data file of fixed-width {@link EmployeeRecord}s, memory-mapped
+ * read-only, plus an append-only log of creates and deletes next to it. On start the file is mapped and the log
+ * replayed, so a multi-million-row roster is available without regenerating it. The heap only holds the id index,
+ * a deletion bitmap and the (small) set of employees created since the last compaction.
+ *
+ * <p>The log is compacted into a new data file once it grows past a tenth of the base roster, on open or after a write.
+ * Each data file carries a generation that its log repeats in its header, so a log left behind by a compaction that
+ * crashed after replacing the data file is recognised as already applied and discarded rather than replayed twice.
+ * Log writes are not fsync'ed: a process crash loses nothing, a power loss may drop the last writes.
+ */
+@Slf4j
+public class MappedMockEmployeeStore implements MockEmployeeStore, Closeable {
+
+    private static final int MAGIC = 0x52514532; // "RQE2"
+    private static final int HEADER_SIZE = 64;
+    private static final int LOG_MAGIC = 0x52514c31; // "RQL1"
+    private static final int LOG_HEADER_SIZE = 16;
+    private static final int RECORDS_PER_SEGMENT = 1 << 22; // 1 GiB per mapping
+    private static final byte LOG_ADD = 1;
+    private static final byte LOG_DELETE = 2;
+    private static final int LOG_DELETE_SIZE = 1 + 16;
+    private static final int LOG_ADD_SIZE = 1 + EmployeeRecord.SIZE;
+
+    private final Path dataFile;
+    private final Path logFile;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<MappedByteBuffer> segments;
+    private long generation;
+    private int baseCount;
+    private UuidIndex baseIndex;
+    private long[] baseNames; // (name hash << 32 | row), sorted; built on the first removeByName
+    private BitSet deleted;
+    private ColumnarRoster created;
+    private Map<String, Set<UUID>> createdByName;
+    private FileChannel logChannel;
+    private long logEntries;
+
+    public MappedMockEmployeeStore(Path dataFile, Supplier<? extends Collection<MockEmployee>> seed) {
+        this.dataFile = dataFile;
+        this.logFile = dataFile.resolveSibling(dataFile.getFileName() + ".log");
+        try {
+            if (Files.notExists(dataFile)) {
+                Collection<MockEmployee> employees = seed.get();
+                log.info("Writing {} seed employees to {}", employees.size(), dataFile);
+                writeDataFile(dataFile, employees, 0);
+                Files.deleteIfExists(logFile);
+            }
+            load();
+            if (logEntries > compactionThreshold()) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open roster file " + dataFile, e);
+        }
+        log.info("Opened {} with {} employees ({} log entries)", dataFile, size(), logEntries);
+    }
+
+    @Override
+    public List<MockEmployee> findAll() {
+        lock.readLock().lock();
+        try {
+            List<MockEmployee> employees = new ArrayList<>(baseCount - deleted.cardinality() + created.size());
+            for (int row = deleted.nextClearBit(0); row < baseCount; row = deleted.nextClearBit(row + 1)) {
+                employees.add(EmployeeRecord.read(segment(row), offset(row)));
+            }
+            for (int row = 0; row < created.size(); row++) {
+                employees.add(fromCreated(row));
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(lookup(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> findAllById(Collection<UUID> ids) {
+        lock.readLock().lock();
+        try {
+            List<MockEmployee> employees = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                MockEmployee employee = lookup(id);
+                if (employee != null) {
+                    employees.add(employee);
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            ByteBuffer entry = ByteBuffer.allocate(LOG_ADD_SIZE);
+            entry.put(0, LOG_ADD);
+            EmployeeRecord.write(entry, 1, employee);
+            appendLog(entry);
+            applyAdd(employee);
+            compactIfDue();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeByName(String name) {
+        lock.writeLock().lock();
+        try {
+            String key = foldCase(name);
+            MockEmployee removed;
+            int row = firstBaseRowNamed(name, key.hashCode());
+            if (row >= 0) {
+                removed = EmployeeRecord.read(segment(row), offset(row));
+            } else {
+                Set<UUID> ids = createdByName.getOrDefault(key, Set.of());
+                if (ids.isEmpty()) {
+                    return Optional.empty();
+                }
+                removed = fromCreated(created.indexOf(ids.iterator().next()));
+            }
+            ByteBuffer entry = ByteBuffer.allocate(LOG_DELETE_SIZE);
+            entry.put(0, LOG_DELETE);
+            entry.putLong(1, removed.getId().getMostSignificantBits());
+            entry.putLong(9, removed.getId().getLeastSignificantBits());
+            appendLog(entry);
+            applyDelete(removed.getId());
+            compactIfDue();
+            return Optional.of(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return baseCount - deleted.cardinality() + created.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            logChannel.close();
+            unmap(segments);
+            segments = List.of();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Folds the log into a new data file; runs on its own once the log is due, see {@link #compactionThreshold()}. */
+    void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.info("Compacting {} log entries into {}", logEntries, dataFile);
+            List<MockEmployee> live = findAll();
+            Path tmp = dataFile.resolveSibling(dataFile.getFileName() + ".tmp");
+            try {
+                writeDataFile(tmp, live, generation + 1);
+            } catch (IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            // readers only touch segments under the lock, so the old mapping can go before the file does
+            logChannel.close();
+            unmap(segments);
+            segments = List.of();
+            try {
+                // a crash after the move leaves a log of the previous generation, which load() discards
+                Files.move(tmp, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.delete(logFile);
+                syncDirectory(dataFile.toAbsolutePath().getParent());
+                load();
+            } catch (IOException | RuntimeException e) {
+                reopen(tmp, e);
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Whichever step of a compaction failed, the files on disk hold every write: the old data file and its log, or
+     * the new data file next to a log load() discards. Loading them again puts the store back in service.
+     */
+    private void reopen(Path tmp, Exception cause) {
+        try {
+            Files.deleteIfExists(tmp);
+            if (logChannel.isOpen()) {
+                logChannel.close();
+            }
+            load();
+            log.warn("Compaction of {} failed, reopened it with {} log entries", dataFile, logEntries);
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private void load() throws IOException {
+        try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            data.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != EmployeeRecord.SIZE) {
+                throw new IOException(dataFile + " is not a roster file of this version; delete it to regenerate");
+            }
+            baseCount = Math.toIntExact(header.getLong(8));
+            generation = header.getLong(16);
+            segments = new ArrayList<>();
+            for (long first = 0; first < baseCount; first += RECORDS_PER_SEGMENT) {
+                long records = Math.min(RECORDS_PER_SEGMENT, baseCount - first);
+                segments.add(data.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * EmployeeRecord.SIZE,
+                        records * EmployeeRecord.SIZE));
+            }
+        }
+        baseNames = null;
+        baseIndex = new UuidIndex(baseCount);
+        for (int row = 0; row < baseCount; row++) {
+            ByteBuffer segment = segment(row);
+            baseIndex.put(EmployeeRecord.idMsb(segment, offset(row)), EmployeeRecord.idLsb(segment, offset(row)), row);
+        }
+        deleted = new BitSet(baseCount);
+        created = new ColumnarRoster();
+        createdByName = new HashMap<>();
+        logChannel =
+                FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        logEntries = 0;
+        if (checkLogHeader()) {
+            replayLog();
+        } else {
+            logChannel.truncate(0);
+            writeFully(
+                    logChannel,
+                    ByteBuffer.allocate(LOG_HEADER_SIZE).putInt(0, LOG_MAGIC).putLong(8, generation),
+                    0);
+        }
+        logChannel.position(logChannel.size());
+    }
+
+    /** Whether the log belongs to the current data file and should be replayed; {@code false} starts a new one. */
+    private boolean checkLogHeader() throws IOException {
+        if (logChannel.size() < LOG_HEADER_SIZE) {
+            return false; // new, or torn while its header was written
+        }
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        logChannel.read(header, 0);
+        long logGeneration = header.getLong(8);
+        if (header.getInt(0) != LOG_MAGIC || logGeneration > generation) {
+            throw new IOException(logFile + " does not belong to " + dataFile);
+        }
+        if (logGeneration < generation) {
+            log.warn("Discarding {}: generation {} was already compacted into {}", logFile, logGeneration, dataFile);
+            return false;
+        }
+        return true;
+    }
+
+    private void replayLog() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LOG_ADD_SIZE * 256);
+        long position = LOG_HEADER_SIZE;
+        long size = logChannel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = logChannel.read(buffer, position);
+            buffer.flip();
+            int consumed = 0;
+            while (buffer.remaining() > 0) {
+                byte op = buffer.get(consumed);
+                int entrySize = op == LOG_ADD ? LOG_ADD_SIZE : op == LOG_DELETE ? LOG_DELETE_SIZE : -1;
+                if (entrySize < 0) {
+                    throw new IOException("Corrupt roster log " + logFile + " at offset " + (position + consumed));
+                }
+                if (buffer.remaining() < entrySize) {
+                    break;
+                }
+                if (op == LOG_ADD) {
+                    applyAdd(EmployeeRecord.read(buffer, consumed + 1));
+                } else {
+                    applyDelete(new UUID(buffer.getLong(consumed + 1), buffer.getLong(consumed + 9)));
+                }
+                logEntries++;
+                consumed += entrySize;
+                buffer.position(consumed);
+            }
+            if (consumed == 0) {
+                // torn write at the tail from an earlier crash
+                log.warn("Dropping {} trailing bytes of incomplete entry in {}", size - position, logFile);
+                logChannel.truncate(position);
+                break;
+            }
+            position += consumed;
+            if (read < 0) {
+                break;
+            }
+        }
+    }
+
+    private long compactionThreshold() {
+        return Math.max(1024, baseCount / 10);
+    }
+
+    private void compactIfDue() {
+        if (logEntries > compactionThreshold()) {
+            try {
+                compact();
+            } catch (IOException | RuntimeException e) {
+                // the write is in the log already and stands; the next write tries the compaction again
+                log.error("Unable to compact roster file {}", dataFile, e);
+            }
+        }
+    }
+
+    private void applyAdd(MockEmployee employee) {
+        createdByName
+                .computeIfAbsent(foldCase(employee.getName()), name -> new LinkedHashSet<>())
+                .add(employee.getId());
+        created.add(
+                employee.getId(),
+                employee.getName(),
+                employee.getSalary(),
+                employee.getAge(),
+                employee.getTitle(),
+                employee.getEmail());
+    }
+
+    private void applyDelete(UUID id) {
+        int row = baseRow(id);
+        if (row >= 0) {
+            deleted.set(row);
+            return;
+        }
+        row = created.indexOf(id);
+        if (row >= 0) {
+            String key = foldCase(created.name(row));
+            Set<UUID> named = createdByName.get(key);
+            named.remove(id);
+            if (named.isEmpty()) {
+                createdByName.remove(key);
+            }
+            created.remove(row);
+        }
+    }
+
+    /*
+     * Lowest live base row named name ignoring case. Rows are indexed by the hash of their case-folded name, so only
+     * rows sharing the hash are decoded.
+     */
+    private int firstBaseRowNamed(String name, int hash) {
+        if (baseNames == null) {
+            baseNames = new long[baseCount];
+            for (int row = 0; row < baseCount; row++) {
+                String rowName = EmployeeRecord.name(segment(row), offset(row));
+                baseNames[row] =
+                        ((long) (rowName == null ? 0 : foldCase(rowName).hashCode()) << 32) | row;
+            }
+            Arrays.sort(baseNames);
+        }
+        int at = Arrays.binarySearch(baseNames, (long) hash << 32);
+        for (int i = at >= 0 ? at : -at - 1; i < baseNames.length && (int) (baseNames[i] >> 32) == hash; i++) {
+            int row = (int) baseNames[i];
+            if (!deleted.get(row) && name.equalsIgnoreCase(EmployeeRecord.name(segment(row), offset(row)))) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /* Same per-character folding as String.equalsIgnoreCase, so equal keys mean equal names ignoring case. */
+    private static String foldCase(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(name.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    private void appendLog(ByteBuffer entry) {
+        try {
+            while (entry.hasRemaining()) {
+                logChannel.write(entry);
+            }
+            logEntries++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to roster log " + logFile, e);
+        }
+    }
+
+    /** Caller holds the lock. */
+    private MockEmployee lookup(UUID id) {
+        int row = baseRow(id);
+        if (row >= 0) {
+            return EmployeeRecord.read(segment(row), offset(row));
+        }
+        row = created.indexOf(id);
+        return row < 0 ? null : fromCreated(row);
+    }
+
+    /** Live base row holding {@code id}, or {@code -1}. */
+    private int baseRow(UUID id) {
+        int row = baseIndex.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return row >= 0 && !deleted.get(row) ? row : -1;
+    }
+
+    private MockEmployee fromCreated(int row) {
+        return MockEmployee.builder()
+                .id(created.id(row))
+                .name(created.name(row))
+                .salary(boxed(created.salary(row)))
+                .age(boxed(created.age(row)))
+                .title(created.title(row))
+                .email(created.email(row))
+                .build();
+    }
+
+    private ByteBuffer segment(int row) {
+        return segments.get(row / RECORDS_PER_SEGMENT);
+    }
+
+    private static int offset(int row) {
+        return (row % RECORDS_PER_SEGMENT) * EmployeeRecord.SIZE;
+    }
+
+    private static Integer boxed(int value) {
+        return value == ColumnarRoster.NO_VALUE ? null : value;
+    }
+
+    private static void writeDataFile(Path target, Collection<MockEmployee> employees, long generation)
+            throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(
+                target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, EmployeeRecord.SIZE);
+            header.putLong(8, employees.size());
+            header.putLong(16, generation);
+            writeFully(channel, header);
+            ByteBuffer batch = ByteBuffer.allocateDirect(EmployeeRecord.SIZE * 4096);
+            for (MockEmployee employee : employees) {
+                if (batch.position() == batch.capacity()) {
+                    batch.flip();
+                    writeFully(channel, batch);
+                    batch.clear();
+                }
+                EmployeeRecord.write(batch, batch.position(), employee);
+                batch.position(batch.position() + EmployeeRecord.SIZE);
+            }
+            batch.flip();
+            writeFully(channel, batch);
+            channel.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync {}: {}", dir, e.toString()); // not supported on every platform
+        }
+    }
+
+    /*
+     * Releases mappings now instead of when the buffers are collected, so a replaced data file does not linger
+     * mapped. Unsafe.invokeCleaner is the only way in Java 17; without it the buffers are left to the collector.
+     */
+    private static void unmap(List<MappedByteBuffer> segments) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            for (MappedByteBuffer segment : segments) {
+                invokeCleaner.invoke(theUnsafe.get(null), segment);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Leaving {} mapped segments to the garbage collector: {}", segments.size(), e.toString());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Backing storage for {@link com.reliaquest.server.service.MockEmployeeService}. Implementations must be safe for
+ * concurrent use by request threads.
+ */
+public interface MockEmployeeStore {
+
+    List<MockEmployee> findAll();
+
+    Optional<MockEmployee> findById(UUID id);
+
+    /** Employees with the given ids, in the order of {@code ids}, read under one lock; unknown ids are skipped. */
+    List<MockEmployee> findAllById(Collection<UUID> ids);
+
+    void add(MockEmployee employee);
+
+    /** Removes the first employee whose name matches ignoring case. */
+    Optional<MockEmployee> removeByName(String name);
+
+    int size();
+}
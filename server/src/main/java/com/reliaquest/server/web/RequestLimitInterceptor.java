@@ -0,0 +1,37 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Simulates a rate-limited partner API: each caller, identified by {@code clientHeader} or else its remote address,
+ * gets its own bucket in {@link RequestLimiter}. Rejected calls get {@code 429} with a {@code Retry-After} in whole
+ * seconds.
+ */
+@RequiredArgsConstructor
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    private final RequestLimiter requestLimiter;
+    private final String clientHeader;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var client = request.getHeader(clientHeader);
+        final var waitNanos = requestLimiter.tryAcquire(client != null ? client : request.getRemoteAddr());
+        if (waitNanos == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(waitNanos)));
+        return false;
+    }
+
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
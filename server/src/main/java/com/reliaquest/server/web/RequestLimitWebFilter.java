@@ -0,0 +1,49 @@
+package com.reliaquest.server.web;
+
+import java.net.InetSocketAddress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link RequestLimitInterceptor} for the reactive server: same buckets, same {@code 429} and {@code Retry-After}, and
+ * {@code /actuator/**} is left alone. Acquiring never blocks, so it runs on the event loop.
+ */
+@RequiredArgsConstructor
+public class RequestLimitWebFilter implements WebFilter {
+
+    private static final String ACTUATOR_PATH = "/actuator/";
+
+    private final RequestLimiter requestLimiter;
+    private final String clientHeader;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        if (request.getPath().pathWithinApplication().value().startsWith(ACTUATOR_PATH)) {
+            return chain.filter(exchange);
+        }
+        final var client = request.getHeaders().getFirst(clientHeader);
+        final var waitNanos =
+                requestLimiter.tryAcquire(client != null ? client : remoteAddress(request.getRemoteAddress()));
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        final var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders()
+                .set(HttpHeaders.RETRY_AFTER, Long.toString(RequestLimitInterceptor.retryAfterSeconds(waitNanos)));
+        return response.setComplete();
+    }
+
+    private static String remoteAddress(InetSocketAddress address) {
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
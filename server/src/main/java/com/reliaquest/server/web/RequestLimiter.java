@@ -0,0 +1,116 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client rate limiter using the generic cell rate algorithm, the arrival-time form of a token bucket: each client
+ * is a single {@link AtomicLong} holding its theoretical arrival time, so admitting a request is one read of
+ * {@link System#nanoTime()} and one CAS, with no locks and no timer. A client may burst {@code capacity} requests and
+ * then gets one more every {@code period / capacity}.
+ *
+ * <p>Idle clients are swept once the table passes {@code maxClients}, and then again when it has doubled since the last
+ * sweep or a {@code period} has passed, so a table of active clients is not rescanned for every new one. A swept
+ * client simply starts with a full bucket again, which is exactly the state it had. The sweep retires a bucket by
+ * CAS-ing it to {@code RETIRED} before removing it, so a request racing with the sweep either lands before (and the
+ * bucket is no longer idle) or sees it retired and starts over with the new bucket.
+ */
+public class RequestLimiter {
+
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int maxClients;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, AtomicLong> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile int sweepAt;
+    private volatile long lastSweepNanos;
+
+    public RequestLimiter(int capacity, Duration period, int maxClients) {
+        this(capacity, period, maxClients, System::nanoTime);
+    }
+
+    RequestLimiter(int capacity, Duration period, int maxClients, LongSupplier nanoTime) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("capacity and period must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.toleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+        this.sweepAt = maxClients;
+        this.lastSweepNanos = nanoTime.getAsLong() - period.toNanos();
+    }
+
+    /**
+     * Admits one request for {@code clientKey}.
+     *
+     * @return {@code 0} if admitted, otherwise nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientKey) {
+        final long now = nanoTime.getAsLong();
+        while (true) {
+            AtomicLong arrival = clients.get(clientKey);
+            if (arrival == null) {
+                arrival = clients.computeIfAbsent(clientKey, ignored -> new AtomicLong(now));
+                if (sweepDue(now)) {
+                    sweep(now);
+                }
+            }
+            final long wait = tryAcquire(arrival, now);
+            if (wait >= 0) {
+                return wait;
+            }
+            clients.remove(clientKey, arrival); // retired by a sweep; take the new bucket
+        }
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    /** @return {@code 0} if admitted, the wait if not, or {@code -1} if the bucket was retired */
+    private long tryAcquire(AtomicLong arrival, long now) {
+        while (true) {
+            final long tat = arrival.get();
+            if (tat == RETIRED) {
+                return -1;
+            }
+            final long wait = tat - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(tat, Math.max(tat, now) + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private boolean sweepDue(long now) {
+        final int size = clients.size();
+        return size > maxClients && (size > sweepAt || now - lastSweepNanos >= toleranceNanos + emissionIntervalNanos);
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            clients.forEach((key, arrival) -> {
+                final long tat = arrival.get();
+                if (tat != RETIRED && tat - now <= 0 && arrival.compareAndSet(tat, RETIRED)) {
+                    clients.remove(key, arrival);
+                }
+            });
+            sweepAt = Math.max(maxClients, 2 * clients.size());
+            lastSweepNanos = now;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The roster response, encoded once per roster version instead of once per request. Each version holds the
+ * {@code Response<List<MockEmployee>>} document as JSON and as CBOR, each plain and gzipped, built on first demand.
+ * Requests pick a variant from {@code Accept} and {@code Accept-Encoding}, get an {@code ETag} per version and
+ * variant, and an {@code If-None-Match} listing it (weakly or not) or {@code *} is answered with 304.
+ *
+ * <p>Bodies of at least {@code sendfileThreshold} bytes are also written to a file under {@code dir} and handed to
+ * Tomcat's sendfile support (or Netty's file transfer on the reactive server), so the kernel copies them to the socket;
+ * smaller bodies, or connectors without sendfile, get the cached array in one write. A send only opens its file after
+ * the handler returned, so files of a replaced version are kept for {@code retain} before they are deleted. The cache
+ * owns {@code dir}: roster files left there by an earlier run are deleted on startup, and all of them on close.
+ */
+@Slf4j
+public class RosterResponseCache implements AutoCloseable {
+
+    private static final String FILE_PREFIX = "roster-";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    enum Format {
+        JSON(MediaType.APPLICATION_JSON, "json"),
+        CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+    }
+
+    record Variant(Format format, boolean gzip) {
+
+        String suffix() {
+            return format.extension + (gzip ? ".gz" : "");
+        }
+    }
+
+    record Encoded(byte[] body, String etag, Path file) {}
+
+    private record Generation(long version, Map<Variant, Encoded> encoded) {}
+
+    private record Retired(Generation generation, long retiredAtNanos) {}
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final Path dir;
+    private final int sendfileThreshold;
+    private final long retainNanos;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile Generation current = new Generation(-1, Map.of());
+    private final Deque<Retired> retired = new ArrayDeque<>(); // guarded by this
+
+    public RosterResponseCache(
+            ObjectMapper jsonMapper, ObjectMapper cborMapper, Path dir, int sendfileThreshold, Duration retain) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+        this.dir = dir;
+        this.sendfileThreshold = sendfileThreshold;
+        this.retainNanos = retain.toNanos();
+        deleteRosterFiles();
+    }
+
+    /**
+     * Writes the roster of {@code version}. {@code roster} is only called when this version has not been encoded yet;
+     * callers read the version before the roster so a concurrent write can only make the content newer than its tag.
+     */
+    public void write(
+            HttpServletRequest request, HttpServletResponse response, long version, Supplier<List<MockEmployee>> roster)
+            throws IOException {
+        Variant variant = new Variant(
+                formatOf(request.getHeader(HttpHeaders.ACCEPT)),
+                acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+        Encoded encoded = encoded(version, variant, roster);
+
+        response.setHeader(HttpHeaders.ETAG, encoded.etag());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), encoded.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(variant.format().mediaType.toString());
+        if (variant.gzip()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(encoded.body().length);
+        if (encoded.file() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, encoded.file().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, (long) encoded.body().length);
+        } else {
+            response.getOutputStream().write(encoded.body());
+        }
+    }
+
+    /**
+     * Reactive counterpart of {@link #write(HttpServletRequest, HttpServletResponse, long, Supplier)}. Moving to a new
+     * version (which reads the roster and retires the old version's files) and encoding run on the bounded-elastic
+     * scheduler rather than the event loop; cached bodies are wrapped, not copied, and files go out through Netty's
+     * zero-copy file transfer.
+     */
+    public Mono<Void> write(ServerWebExchange exchange, long version, Supplier<List<MockEmployee>> roster) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        Variant variant = new Variant(
+                formatOf(requestHeaders.getFirst(HttpHeaders.ACCEPT)),
+                acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING)));
+        Generation generation = current;
+        Encoded cached = generation.version() >= version ? generation.encoded().get(variant) : null;
+        Mono<Encoded> encoded = cached != null
+                ? Mono.just(cached)
+                : Mono.fromCallable(() -> encoded(version, variant, roster)).subscribeOn(Schedulers.boundedElastic());
+        return encoded.flatMap(body -> {
+            ServerHttpResponse response = exchange.getResponse();
+            HttpHeaders headers = response.getHeaders();
+            headers.setETag(body.etag());
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (matches(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH), body.etag())) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+            headers.setContentType(variant.format().mediaType);
+            if (variant.gzip()) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            headers.setContentLength(body.body().length);
+            if (body.file() != null && response instanceof ZeroCopyHttpOutputMessage zeroCopy) {
+                return zeroCopy.writeWith(body.file(), 0, body.body().length);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body.body())));
+        });
+    }
+
+    Encoded encoded(long version, Variant variant, Supplier<List<MockEmployee>> roster) {
+        Generation generation = generation(version);
+        Encoded encoded = generation.encoded().get(variant);
+        if (encoded != null) {
+            return encoded;
+        }
+        if (variant.gzip()) {
+            // resolved before computeIfAbsent, which must not update the map recursively
+            Encoded plain = encoded(generation.version(), new Variant(variant.format(), false), roster);
+            return generation.encoded().computeIfAbsent(variant, v -> encode(generation, v, () -> gzip(plain.body())));
+        }
+        ObjectMapper mapper = variant.format() == Format.CBOR ? cborMapper : jsonMapper;
+        return generation
+                .encoded()
+                .computeIfAbsent(
+                        variant,
+                        v -> encode(generation, v, () -> {
+                            try {
+                                return mapper.writeValueAsBytes(Response.handledWith(roster.get()));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }));
+    }
+
+    /*
+     * Versions only move forward: a request that read an older version than the current one is served the newer
+     * content rather than rolling the cache back.
+     */
+    private Generation generation(long version) {
+        Generation generation = current;
+        if (generation.version() >= version) {
+            return generation;
+        }
+        synchronized (this) {
+            if (current.version() < version) {
+                long now = System.nanoTime();
+                while (!retired.isEmpty() && now - retired.peek().retiredAtNanos() >= retainNanos) {
+                    retired.poll().generation().encoded().values().forEach(RosterResponseCache::deleteFile);
+                }
+                retired.add(new Retired(current, now));
+                current = new Generation(version, new ConcurrentHashMap<>());
+                log.debug("Roster response cache moved to version {}", version);
+            }
+            return current;
+        }
+    }
+
+    private Encoded encode(Generation generation, Variant variant, Supplier<byte[]> encoder) {
+        long started = System.nanoTime();
+        byte[] body = encoder.get();
+        String etag = "\"" + epoch + "-" + generation.version() + "-" + variant.suffix() + "\"";
+        Path file = body.length >= sendfileThreshold ? spill(generation.version(), variant, body) : null;
+        log.debug(
+                "Encoded roster version {} as {} ({} bytes) in {} us",
+                generation.version(),
+                variant.suffix(),
+                body.length,
+                (System.nanoTime() - started) / 1000);
+        return new Encoded(body, etag, file);
+    }
+
+    private Path spill(long version, Variant variant, byte[] body) {
+        try {
+            Files.createDirectories(dir);
+            Path file = dir.resolve(FILE_PREFIX + epoch + "-" + version + "." + variant.suffix())
+                    .toAbsolutePath();
+            Files.write(file, body);
+            return file;
+        } catch (IOException e) {
+            log.warn("Could not write {} for sendfile, serving from memory: {}", dir, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Deletes every roster file in {@code dir}, including those of the versions still cached, then {@code dir} if
+     * empty.
+     */
+    @Override
+    public void close() {
+        deleteRosterFiles();
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            // holds other files, keep it
+        }
+    }
+
+    private void deleteRosterFiles() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean {}: {}", dir, e.toString());
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void deleteFile(Encoded encoded) {
+        if (encoded.file() != null) {
+            try {
+                Files.deleteIfExists(encoded.file());
+            } catch (IOException e) {
+                log.debug("Could not delete {}: {}", encoded.file(), e.toString());
+            }
+        }
+    }
+
+    /*
+     * Mirrors the converters' negotiation: JSON unless CBOR is preferred by the Accept header.
+     */
+    static Format formatOf(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Format.JSON;
+        }
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                if (type.isConcrete() && type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    return Format.CBOR;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return Format.JSON;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // unparseable Accept: fall back to the default
+        }
+        return Format.JSON;
+    }
+
+    /*
+     * If-None-Match uses the weak comparison: W/"x" matches "x", so does a list containing it, and * matches anything.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    private static final int SIZE = MockEmployeeGenerator.CHUNK_SIZE * 2 + 17;
+
+    @Test
+    void testSameSeedGivesIdenticalRoster() {
+        List<MockEmployee> first = new MockEmployeeGenerator(42).generate(SIZE);
+        List<MockEmployee> second = new MockEmployeeGenerator(42).generate(SIZE);
+
+        assertEquals(SIZE, first.size());
+        assertEquals(first, second);
+        assertNotEquals(first, new MockEmployeeGenerator(43).generate(SIZE));
+    }
+
+    @Test
+    void testRosterDoesNotDependOnDefaultLocale() {
+        List<MockEmployee> expected = new MockEmployeeGenerator(7).generate(100);
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals(expected, new MockEmployeeGenerator(7).generate(100));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {"mock.rate-limit.enabled=false", "mock.employees.max=5", "mock.employees.seed=7"})
+@AutoConfigureMockMvc
+class MockEmployeeControllerTest {
+
+    @TempDir
+    static Path rosterCache;
+
+    @DynamicPropertySource
+    static void rosterCacheDir(DynamicPropertyRegistry registry) {
+        registry.add("mock.roster-cache.dir", rosterCache::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testRosterIsNegotiatedAsJsonOrCbor() throws Exception {
+        byte[] json = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/v1/employee").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode fromJson = objectMapper.readTree(json);
+        assertEquals(fromJson, new ObjectMapper(new CBORFactory()).readTree(cbor));
+        mockMvc.perform(get("/api/v1/employee").accept(MediaType.ALL))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGzipIsOnlySentWhenAccepted() throws Exception {
+        byte[] plain = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        byte[] gzipped = mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals(objectMapper.readTree(plain), objectMapper.readTree(gunzip(gzipped)));
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testMatchingEtagIsAnsweredWith304() throws Exception {
+        String etag = etag(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, "\"stale\", W/" + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/employee")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void testCreateAdvancesTheVersion() throws Exception {
+        String before = etag(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(post("/api/v1/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Versioned Ann\",\"salary\":100,\"age\":30,\"title\":\"Engineer\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.employee_name == 'Versioned Ann')]")
+                        .exists());
+        assertNotEquals(before, etag(MediaType.APPLICATION_JSON));
+    }
+
+    private String etag(MediaType accept) throws Exception {
+        return mockMvc.perform(get("/api/v1/employee").accept(accept))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
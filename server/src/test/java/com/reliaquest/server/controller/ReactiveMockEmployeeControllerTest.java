@@ -0,0 +1,123 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.main.web-application-type=reactive",
+            "mock.rate-limit.enabled=false",
+            "mock.employees.max=5",
+            "mock.employees.seed=7",
+            "mock.roster-cache.sendfile-threshold=0"
+        })
+class ReactiveMockEmployeeControllerTest {
+
+    @TempDir
+    static Path rosterCache;
+
+    @DynamicPropertySource
+    static void rosterCacheDir(DynamicPropertyRegistry registry) {
+        registry.add("mock.roster-cache.dir", rosterCache::toString);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testCreateIsVisibleToReadsAndDeleteRemovesIt() {
+        JsonNode created = webTestClient
+                .post()
+                .uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Reactive Ann", "salary", 100, "age", 30, "title", "Engineer"))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        String id = created.at("/data/id").asText();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/employee/{id}", id)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.data.employee_name")
+                .isEqualTo("Reactive Ann");
+        webTestClient
+                .post()
+                .uri("/api/v1/employee/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", new String[] {id}))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.data.length()")
+                .isEqualTo(1);
+
+        webTestClient
+                .method(HttpMethod.DELETE)
+                .uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Reactive Ann"))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.data")
+                .isEqualTo(true);
+        webTestClient
+                .get()
+                .uri("/api/v1/employee/{id}", id)
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void testRosterIsServedFromFileAndRevalidated() {
+        String etag = webTestClient
+                .get()
+                .uri("/api/v1/employee")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.data.length()")
+                .isNumber()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+        assertNotNull(etag);
+
+        webTestClient
+                .get()
+                .uri("/api/v1/employee")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus()
+                .isNotModified();
+    }
+}
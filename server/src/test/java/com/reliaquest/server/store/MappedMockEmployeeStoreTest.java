@@ -0,0 +1,163 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedMockEmployeeStoreTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void testAddRemoveAndReopen() throws IOException {
+        Path file = dir.resolve("roster.dat");
+        MockEmployee added = employee("Zoë Ångström");
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, () -> seed(10))) {
+            store.add(added);
+            assertEquals(
+                    "Employee 3", store.removeByName("EMPLOYEE 3").orElseThrow().getName());
+            assertTrue(store.removeByName("nobody").isEmpty());
+            assertEquals(added, store.findById(added.getId()).orElseThrow());
+            assertEquals(10, store.size());
+        }
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            assertEquals(10, store.size());
+            assertEquals(added, store.findById(added.getId()).orElseThrow());
+            assertTrue(store.findAll().stream().noneMatch(e -> e.getName().equals("Employee 3")));
+            assertEquals(added, store.removeByName("zoë ångström").orElseThrow());
+            assertEquals(9, store.size());
+        }
+    }
+
+    @Test
+    void testLogIsReplayedInOrder() throws IOException {
+        Path file = dir.resolve("roster.dat");
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, () -> seed(5))) {
+            store.add(employee("Twin"));
+            store.add(employee("Twin"));
+            store.removeByName("twin");
+            store.removeByName("Employee 0");
+        }
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            assertEquals(5, store.size());
+            assertEquals(
+                    1,
+                    store.findAll().stream()
+                            .filter(e -> e.getName().equals("Twin"))
+                            .count());
+            assertTrue(store.removeByName("Employee 0").isEmpty());
+        }
+    }
+
+    @Test
+    void testLogLeftByCompactionIsNotReplayedAgain() throws IOException {
+        Path file = dir.resolve("roster.dat");
+        Path logFile = dir.resolve("roster.dat.log");
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, () -> seed(5))) {
+            store.add(employee("Added"));
+            store.removeByName("Employee 1");
+        }
+        byte[] log = Files.readAllBytes(logFile);
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            store.compact();
+        }
+        // crash after the compacted file replaced the data file, before the log was deleted
+        Files.write(logFile, log);
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            List<MockEmployee> employees = store.findAll();
+            assertEquals(5, employees.size());
+            assertEquals(5, new HashSet<>(employees).size());
+            assertEquals(
+                    1,
+                    employees.stream().filter(e -> e.getName().equals("Added")).count());
+        }
+    }
+
+    @Test
+    void testLogIsCompactedWhileRunning() throws IOException {
+        Path file = dir.resolve("roster.dat");
+        Path logFile = dir.resolve("roster.dat.log");
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, () -> seed(5))) {
+            for (int i = 0; i < 1100; i++) {
+                store.add(employee("Created " + i));
+            }
+            assertTrue(Files.size(logFile) < 100 * 1024);
+            assertEquals(1105, store.size());
+            assertEquals(
+                    "Created 7", store.removeByName("created 7").orElseThrow().getName());
+        }
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            assertEquals(1104, store.size());
+        }
+    }
+
+    @Test
+    void testFailedCompactionLeavesStoreServing() throws IOException {
+        Path file = dir.resolve("roster.dat");
+        MockEmployee added = employee("Added");
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, () -> seed(5))) {
+            store.add(added);
+            store.removeByName("Employee 1");
+            // the compaction fails once the new data file is in place, when it deletes the log
+            Files.delete(dir.resolve("roster.dat.log"));
+
+            assertThrows(IOException.class, store::compact);
+            assertEquals(5, store.size());
+            assertEquals(added, store.findById(added.getId()).orElseThrow());
+            store.add(employee("After"));
+            assertEquals(6, store.findAll().size());
+        }
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            assertEquals(6, store.size());
+            assertTrue(store.removeByName("Employee 1").isEmpty());
+        }
+    }
+
+    @Test
+    void testOverlongValuesAreRejected() throws IOException {
+        Path file = dir.resolve("roster.dat");
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, () -> seed(1))) {
+            MockEmployee tooLong = employee("x".repeat(71));
+
+            assertThrows(IllegalArgumentException.class, () -> store.add(tooLong));
+            assertEquals(1, store.size());
+        }
+
+        try (MappedMockEmployeeStore store = new MappedMockEmployeeStore(file, List::of)) {
+            assertEquals(1, store.size());
+        }
+    }
+
+    private static List<MockEmployee> seed(int size) {
+        return IntStream.range(0, size).mapToObj(i -> employee("Employee " + i)).toList();
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email("e@company.com")
+                .build();
+    }
+}
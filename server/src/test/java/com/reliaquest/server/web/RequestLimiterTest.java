@@ -0,0 +1,76 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RequestLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void testBurstThenRetryAfterOneEmissionInterval() {
+        RequestLimiter limiter = new RequestLimiter(5, Duration.ofSeconds(60), 100, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        long wait = limiter.tryAcquire("a");
+
+        assertEquals(TimeUnit.SECONDS.toNanos(12), wait);
+        assertEquals(0, limiter.tryAcquire("b"), "clients have separate buckets");
+    }
+
+    @Test
+    void testSteadyRateIsAdmittedAndFasterIsNot() {
+        RequestLimiter limiter = new RequestLimiter(5, Duration.ofSeconds(60), 100, clock::get);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        for (int i = 0; i < 20; i++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(12));
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(TimeUnit.SECONDS.toNanos(6), limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void testSweepDropsOnlyIdleClients() {
+        RequestLimiter limiter = new RequestLimiter(2, Duration.ofSeconds(10), 3, clock::get);
+        limiter.tryAcquire("idle-1");
+        limiter.tryAcquire("idle-2");
+        limiter.tryAcquire("busy");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        limiter.tryAcquire("new");
+
+        assertEquals(2, limiter.clientCount());
+        assertTrue(limiter.tryAcquire("busy") > 0, "an active client keeps its bucket");
+        assertEquals(0, limiter.tryAcquire("idle-1"), "a swept client starts with a full bucket");
+    }
+
+    @Test
+    void testActiveClientsAreNotRescannedForEveryNewOne() {
+        RequestLimiter limiter = new RequestLimiter(1, Duration.ofSeconds(10), 4, clock::get);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+        // the sweep freed nothing; the next one waits until the table doubles
+        for (int i = 5; i < 10; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+        assertEquals(10, limiter.clientCount());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.tryAcquire("client-10");
+        assertEquals(1, limiter.clientCount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.RosterResponseCache.Format;
+import com.reliaquest.server.web.RosterResponseCache.Variant;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RosterResponseCacheTest {
+
+    private static final Variant JSON = new Variant(Format.JSON, false);
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void testReplacedVersionFilesOutliveTheVersion() {
+        RosterResponseCache cache = cache(Duration.ofHours(1));
+        Path first = cache.encoded(1, JSON, List::of).file();
+        assertNotNull(first);
+
+        cache.encoded(2, JSON, List::of);
+        cache.encoded(3, JSON, List::of);
+
+        assertTrue(Files.exists(first), "a send of version 1 may not have opened its file yet");
+    }
+
+    @Test
+    void testFilesAreDeletedOnceRetained() {
+        RosterResponseCache cache = cache(Duration.ZERO);
+        Path first = cache.encoded(1, JSON, List::of).file();
+
+        cache.encoded(2, JSON, List::of);
+        cache.encoded(3, JSON, List::of);
+
+        assertFalse(Files.exists(first));
+    }
+
+    @Test
+    void testFilesOfAnEarlierRunAreDeletedOnStartupAndAllOnClose() throws IOException {
+        Path leftover = Files.writeString(dir.resolve("roster-old-7.json"), "{}");
+        Path unrelated = Files.writeString(dir.resolve("notes.txt"), "keep");
+
+        RosterResponseCache cache = cache(Duration.ofHours(1));
+        assertFalse(Files.exists(leftover));
+        Path current = cache.encoded(1, JSON, List::of).file();
+
+        cache.close();
+        assertFalse(Files.exists(current));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void testIfNoneMatchUsesWeakComparisonOverLists() {
+        String etag = "\"abc-1-json\"";
+
+        assertTrue(RosterResponseCache.matches(etag, etag));
+        assertTrue(RosterResponseCache.matches("W/" + etag, etag));
+        assertTrue(RosterResponseCache.matches("\"other\", W/" + etag, etag));
+        assertTrue(RosterResponseCache.matches("*", etag));
+        assertFalse(RosterResponseCache.matches("\"abc-2-json\"", etag));
+        assertFalse(RosterResponseCache.matches(null, etag));
+    }
+
+    private RosterResponseCache cache(Duration retain) {
+        return new RosterResponseCache(new ObjectMapper(), new ObjectMapper(), dir, 0, retain);
+    }
+}